@@ -0,0 +1,72 @@
+package edu.kit.minijava.ast.serialization;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares lexing and parsing a generated program of the given size against reading it back from its serialized
+ * form.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ASTCacheBenchmark {
+
+    @Param({ "1", "16" })
+    public int megabytes;
+
+    private byte[] input;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws ParserException {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; builder.length() < this.megabytes << 20; index += 1) {
+            builder.append("class C").append(index).append(" {\n");
+            builder.append("    public int[] values;\n");
+            builder.append("    public C").append(index).append(" next;\n");
+            builder.append("    public int compute(int x, C").append(index).append(" other) {\n");
+            builder.append("        int result = 0;\n");
+            builder.append("        int[] array = new int[x + 1];\n");
+            builder.append("        while (x >= 0 && result != 42) {\n");
+            builder.append("            if (!(array[x] < 3) || other == null) result = result + -x * 17 % 5;\n");
+            builder.append("            else array[x] = this.values[x] = other.compute(x - 1, other.next);\n");
+            builder.append("            x = x - 1;\n");
+            builder.append("        }\n");
+            builder.append("        return result;\n");
+            builder.append("    }\n");
+            builder.append("}\n");
+        }
+
+        builder.append("class Main { public static void main(String[] args) { } }\n");
+
+        this.input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.serialized = new ProgramWriter().write(new Parser(new Lexer(this.input)).parseProgram());
+    }
+
+    @Benchmark
+    public Program lexAndParse() throws ParserException {
+        return new Parser(new Lexer(this.input)).parseProgram();
+    }
+
+    @Benchmark
+    public Program read() throws IOException {
+        return new ProgramReader(this.serialized).readProgram();
+    }
+
+    @Benchmark
+    public byte[] write() throws ParserException {
+        return new ProgramWriter().write(new Parser(new Lexer(this.input)).parseProgram());
+    }
+}
@@ -0,0 +1,134 @@
+package edu.kit.minijava.lexer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares keyword recognition using the perfect hash in {@link Lexer} against the String switch the lexer used
+ * previously, which needed the word to be materialized first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordRecognitionBenchmark {
+
+    /// A mix of keywords and identifiers as found in typical MiniJava code.
+    private static final String WORDS = "class Main public static void main String args int x y z value result "
+        + "boolean true false if else while return new this null System out println length count index array "
+        + "node next left right i j k tmp foo bar baz synchronized interface instanceof private package";
+
+    private byte[] input;
+    private int[] starts;
+    private int[] lengths;
+
+    @Setup
+    public void setup() {
+        this.input = WORDS.getBytes(StandardCharsets.US_ASCII);
+
+        String[] words = WORDS.split(" ");
+        this.starts = new int[words.length];
+        this.lengths = new int[words.length];
+
+        for (int index = 0, start = 0; index < words.length; index += 1) {
+            this.starts[index] = start;
+            this.lengths[index] = words[index].length();
+            start += words[index].length() + 1;
+        }
+    }
+
+    @Benchmark
+    public void perfectHash(Blackhole blackhole) {
+        for (int index = 0; index < this.starts.length; index += 1) {
+            blackhole.consume(Lexer.keywordFromRange(this.input, this.starts[index], this.lengths[index]));
+        }
+    }
+
+    @Benchmark
+    public void stringSwitch(Blackhole blackhole) {
+        for (int index = 0; index < this.starts.length; index += 1) {
+            String word = new String(this.input, this.starts[index], this.lengths[index], StandardCharsets.US_ASCII);
+
+            blackhole.consume(keywordFromString(word));
+        }
+    }
+
+    @Benchmark
+    public int lexWholeInput() throws LexerException {
+        Lexer lexer = new Lexer(this.input);
+        int count = 0;
+
+        while (lexer.lexNextToken()) {
+            count += 1;
+        }
+
+        return count;
+    }
+
+    // MARK: - Previous Implementation
+
+    private static TokenType keywordFromString(String string) {
+        switch (string) {
+            case "abstract": return TokenType.ABSTRACT;
+            case "assert": return TokenType.ASSERT;
+            case "boolean": return TokenType.BOOLEAN;
+            case "break": return TokenType.BREAK;
+            case "byte": return TokenType.BYTE;
+            case "case": return TokenType.CASE;
+            case "catch": return TokenType.CATCH;
+            case "char": return TokenType.CHAR;
+            case "class": return TokenType.CLASS;
+            case "const": return TokenType.CONST;
+            case "continue": return TokenType.CONTINUE;
+            case "default": return TokenType.DEFAULT;
+            case "double": return TokenType.DOUBLE;
+            case "do": return TokenType.DO;
+            case "else": return TokenType.ELSE;
+            case "enum": return TokenType.ENUM;
+            case "extends": return TokenType.EXTENDS;
+            case "false": return TokenType.FALSE;
+            case "finally": return TokenType.FINALLY;
+            case "final": return TokenType.FINAL;
+            case "float": return TokenType.FLOAT;
+            case "for": return TokenType.FOR;
+            case "goto": return TokenType.GOTO;
+            case "if": return TokenType.IF;
+            case "implements": return TokenType.IMPLEMENTS;
+            case "import": return TokenType.IMPORT;
+            case "instanceof": return TokenType.INSTANCEOF;
+            case "interface": return TokenType.INTERFACE;
+            case "int": return TokenType.INT;
+            case "long": return TokenType.LONG;
+            case "native": return TokenType.NATIVE;
+            case "new": return TokenType.NEW;
+            case "null": return TokenType.NULL;
+            case "package": return TokenType.PACKAGE;
+            case "private": return TokenType.PRIVATE;
+            case "protected": return TokenType.PROTECTED;
+            case "public": return TokenType.PUBLIC;
+            case "return": return TokenType.RETURN;
+            case "short": return TokenType.SHORT;
+            case "static": return TokenType.STATIC;
+            case "strictfp": return TokenType.STRICTFP;
+            case "super": return TokenType.SUPER;
+            case "switch": return TokenType.SWITCH;
+            case "synchronized": return TokenType.SYNCHRONIZED;
+            case "this": return TokenType.THIS;
+            case "throws": return TokenType.THROWS;
+            case "throw": return TokenType.THROW;
+            case "transient": return TokenType.TRANSIENT;
+            case "true": return TokenType.TRUE;
+            case "try": return TokenType.TRY;
+            case "void": return TokenType.VOID;
+            case "volatile": return TokenType.VOLATILE;
+            case "while": return TokenType.WHILE;
+            default: return null;
+        }
+    }
+}
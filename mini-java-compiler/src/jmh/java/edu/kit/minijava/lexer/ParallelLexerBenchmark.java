@@ -0,0 +1,66 @@
+package edu.kit.minijava.lexer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures how chunked lexing scales with the number of worker threads on a large generated program. A thread count
+ * of zero lexes sequentially without a prescan for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ParallelLexerBenchmark {
+
+    @Param({ "0", "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "32" })
+    public int megabytes;
+
+    private byte[] input;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; builder.length() < this.megabytes << 20; index += 1) {
+            builder.append("/* Generated class number ").append(index).append(". */\n");
+            builder.append("class C").append(index).append(" {\n");
+            builder.append("    public int value").append(index % 100).append(";\n");
+            builder.append("    public int compute(int x, int[] array) {\n");
+            builder.append("        int result = 0;\n");
+            builder.append("        while (x >= 0 && result != 42) {\n");
+            builder.append("            result = result + array[x] * ").append(index).append(" % 17;\n");
+            builder.append("            x = x - 1;\n");
+            builder.append("        }\n");
+            builder.append("        return this.value").append(index % 100).append(" + result;\n");
+            builder.append("    }\n");
+            builder.append("}\n");
+        }
+
+        this.input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.pool = new ForkJoinPool(Math.max(this.threads, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public TokenBuffer lex() {
+        if (this.threads == 0) {
+            return new TokenBuffer(new Lexer(this.input));
+        }
+        else {
+            return new ParallelLexer(this.input).lex(this.pool, this.threads);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package edu.kit.minijava.lexer;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Compares lexing a generated program into a list of {@link Token} objects, as the parser used to do, with lexing it
+ * into a {@link TokenBuffer}. Run with {@code -prof gc} and divide the normalized allocation rate by the number of
+ * tokens to get the bytes allocated per token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class TokenBufferBenchmark {
+
+    @Param({ "8" })
+    public int megabytes;
+
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; builder.length() < this.megabytes << 20; index += 1) {
+            builder.append("class C").append(index).append(" {\n");
+            builder.append("    public int value").append(index % 100).append(";\n");
+            builder.append("    public int compute(int x, int[] array) {\n");
+            builder.append("        int result = 0;\n");
+            builder.append("        while (x >= 0 && result != 42) {\n");
+            builder.append("            result = result + array[x] * ").append(index).append(" % 17;\n");
+            builder.append("            x = x - 1;\n");
+            builder.append("        }\n");
+            builder.append("        return this.value").append(index % 100).append(" + result;\n");
+            builder.append("    }\n");
+            builder.append("}\n");
+        }
+
+        this.input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public List<Token> tokens() throws IOException, LexerException {
+        Lexer lexer = new Lexer(this.input);
+        List<Token> tokens = new ArrayList<>();
+
+        for (Token token = lexer.nextToken(); token != null; token = lexer.nextToken()) {
+            tokens.add(token);
+        }
+
+        return tokens;
+    }
+
+    @Benchmark
+    public TokenBuffer buffer() {
+        return new TokenBuffer(new Lexer(this.input));
+    }
+}
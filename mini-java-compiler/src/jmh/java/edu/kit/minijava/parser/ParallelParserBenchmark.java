@@ -0,0 +1,71 @@
+package edu.kit.minijava.parser;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.lexer.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures how parsing class declarations in parallel scales with the number of worker threads on a program with many
+ * classes. A thread count of zero parses sequentially without a prescan for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ParallelParserBenchmark {
+
+    @Param({ "0", "1", "2", "4", "8" })
+    public int threads;
+
+    @Param({ "500" })
+    public int classes;
+
+    private TokenBuffer tokens;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; index < this.classes; index += 1) {
+            builder.append("class C").append(index).append(" {\n");
+
+            for (int method = 0; method < 20; method += 1) {
+                builder.append("    public int m").append(method).append("(int x, int[] array) {\n");
+                builder.append("        int result = 0;\n");
+                builder.append("        while (x >= 0 && result != 42) {\n");
+                builder.append("            result = result + array[x] * (x - 1) % 17;\n");
+                builder.append("            x = x - 1;\n");
+                builder.append("        }\n");
+                builder.append("        return this.m").append(method).append("(result, new int[x]);\n");
+                builder.append("    }\n");
+            }
+
+            builder.append("}\n");
+        }
+
+        this.tokens = new TokenBuffer(new Lexer(builder.toString().getBytes(StandardCharsets.US_ASCII)));
+        this.pool = new ForkJoinPool(Math.max(this.threads, 1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public Program parse() throws ParserException {
+        if (this.threads == 0) {
+            return new Parser(this.tokens).parseProgram();
+        }
+        else {
+            return new ParallelParser(this.tokens).parseProgram(this.pool);
+        }
+    }
+}
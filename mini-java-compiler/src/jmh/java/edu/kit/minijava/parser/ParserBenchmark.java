@@ -0,0 +1,65 @@
+package edu.kit.minijava.parser;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.lexer.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures parsing a generated program of the given size, both from an already lexed token buffer and including the
+ * lexer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+
+    @Param({ "1", "16" })
+    public int megabytes;
+
+    private byte[] input;
+    private TokenBuffer tokens;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; builder.length() < this.megabytes << 20; index += 1) {
+            builder.append("class C").append(index).append(" {\n");
+            builder.append("    public int[] values;\n");
+            builder.append("    public C").append(index).append(" next;\n");
+            builder.append("    public int compute(int x, C").append(index).append(" other) {\n");
+            builder.append("        int result = 0;\n");
+            builder.append("        int[] array = new int[x + 1];\n");
+            builder.append("        while (x >= 0 && result != 42) {\n");
+            builder.append("            if (!(array[x] < 3) || other == null) result = result + -x * 17 % 5;\n");
+            builder.append("            else array[x] = this.values[x] = other.compute(x - 1, other.next);\n");
+            builder.append("            x = x - 1;\n");
+            builder.append("        }\n");
+            builder.append("        return result;\n");
+            builder.append("    }\n");
+            builder.append("}\n");
+        }
+
+        builder.append("class Main { public static void main(String[] args) { } }\n");
+
+        this.input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.tokens = new TokenBuffer(new Lexer(this.input));
+    }
+
+    @Benchmark
+    public Program parse() throws ParserException {
+        return new Parser(this.tokens).parseProgram();
+    }
+
+    @Benchmark
+    public Program lexAndParse() throws ParserException {
+        return new Parser(new Lexer(this.input)).parseProgram();
+    }
+}
@@ -0,0 +1,75 @@
+package edu.kit.minijava.semantic;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.ast.serialization.*;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures semantic analysis of a generated program with the given number of classes with ten methods each. Analysis
+ * modifies the program, so every invocation works on a fresh copy that is deserialized outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class SemanticAnalysisBenchmark {
+
+    @Param({ "100", "1000" })
+    public int classes;
+
+    private byte[] serialized;
+    private Program program;
+
+    @Setup
+    public void setup() throws ParserException {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; index < this.classes; index += 1) {
+            String next = "C" + ((index + 1) % this.classes);
+
+            builder.append("class C").append(index).append(" {\n");
+            builder.append("    public int value;\n");
+            builder.append("    public ").append(next).append(" next;\n");
+
+            for (int method = 0; method < 10; method += 1) {
+                builder.append("    public int m").append(method).append("(int x, ").append(next).append(" other) {\n");
+                builder.append("        int result = this.value;\n");
+                builder.append("        while (x > 0 && result != 42) {\n");
+                builder.append("            if (other != null) result = result + other.m").append(method)
+                    .append("(x - 1, other.next);\n");
+                builder.append("            x = x - 1;\n");
+                builder.append("        }\n");
+                builder.append("        return -result;\n");
+                builder.append("    }\n");
+            }
+
+            builder.append("}\n");
+        }
+
+        builder.append("class Main { public static void main(String[] args) { System.out.println(1); } }\n");
+
+        byte[] input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.serialized = new ProgramWriter().write(new Parser(new Lexer(input)).parseProgram());
+    }
+
+    @Setup(Level.Invocation)
+    public void readProgram() throws IOException {
+        this.program = new ProgramReader(this.serialized).readProgram();
+    }
+
+    @Benchmark
+    public Program resolve() throws SemanticException {
+        new ReferenceAndExpressionTypeResolver(this.program);
+
+        return this.program;
+    }
+}
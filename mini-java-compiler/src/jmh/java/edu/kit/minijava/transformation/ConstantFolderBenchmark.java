@@ -0,0 +1,89 @@
+package edu.kit.minijava.transformation;
+
+import edu.kit.minijava.ast.nodes.Program;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+import edu.kit.minijava.semantic.*;
+
+import firm.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.Mode;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures constant folding of a generated method whose loop body repeats a block of statements the given number of
+ * times. Each block adds about twenty nodes to the graph, so the graph of the method has 10k nodes or more. Folding
+ * modifies the graphs, so every invocation constructs them again outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class ConstantFolderBenchmark {
+
+    @Param({ "500", "2000" })
+    public int blocks;
+
+    private Program program;
+    private List<Graph> graphs;
+
+    @Setup
+    public void setup() throws ParserException, SemanticException {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("class Main {\n");
+        builder.append("    public int run(int x) {\n");
+        builder.append("        int a = 1;\n");
+        builder.append("        int b = 2;\n");
+        builder.append("        while (x > 0) {\n");
+
+        for (int index = 0; index < this.blocks; index += 1) {
+            builder.append("            a = a * ").append(index % 7 + 2).append(" + b;\n");
+            builder.append("            b = (b + ").append(index).append(") - ").append(index).append(";\n");
+            builder.append("            if (a > ").append(1000 + index).append(") { a = a % 997; }\n");
+        }
+
+        builder.append("            x = x - 1;\n");
+        builder.append("        }\n");
+        builder.append("        return a + b;\n");
+        builder.append("    }\n");
+        builder.append("    public static void main(String[] args) { System.out.println(new Main().run(10)); }\n");
+        builder.append("}\n");
+
+        byte[] input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.program = new Parser(new Lexer(input)).parseProgram();
+
+        new ReferenceAndExpressionTypeResolver(this.program);
+    }
+
+    @Setup(Level.Invocation)
+    public void constructGraphs() {
+        EntityVisitor visitor = new EntityVisitor();
+        visitor.startVisit(this.program);
+
+        GraphGenerator generator = new GraphGenerator(visitor.getRuntimeEntities(), visitor.getMembers(),
+            visitor.getTypes(), false, false, false);
+
+        this.graphs = new ArrayList<>();
+        generator.transform(this.program).forEach(this.graphs::add);
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishFirm() {
+        Firm.finish();
+    }
+
+    @Benchmark
+    public List<Graph> fold() {
+        for (Graph graph : this.graphs) {
+            new ConstantFolder(graph, false);
+        }
+
+        return this.graphs;
+    }
+}
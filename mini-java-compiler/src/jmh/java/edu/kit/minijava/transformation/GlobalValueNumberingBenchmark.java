@@ -0,0 +1,165 @@
+package edu.kit.minijava.transformation;
+
+import edu.kit.minijava.ast.nodes.Program;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+import edu.kit.minijava.semantic.*;
+
+import firm.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.annotations.Mode;
+
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures value numbering of a generated program with the given number of array-heavy methods: matrix
+ * multiplication, a bubble sort, a stencil over a two-dimensional array and a sum of squares, which repeatedly access
+ * the same array elements and fields. The sum of squares reads each field and element twice without storing in
+ * between, so all of its repeated loads are merged. As in the compiler, constants are folded before. Both modify the
+ * graphs, so every invocation constructs and folds them again outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+@State(Scope.Benchmark)
+public class GlobalValueNumberingBenchmark {
+
+    @Param({ "10", "100" })
+    public int kernels;
+
+    private Program program;
+    private List<Graph> graphs;
+
+    @Setup
+    public void setup() throws ParserException, SemanticException {
+        StringBuilder builder = new StringBuilder();
+
+        builder.append("class Kernels {\n");
+        builder.append("    public int[][] a;\n");
+        builder.append("    public int[][] b;\n");
+        builder.append("    public int[][] c;\n");
+        builder.append("    public int n;\n");
+
+        for (int index = 0; index < this.kernels; index += 1) {
+            builder.append("    public void multiply").append(index).append("() {\n");
+            builder.append("        int i = 0;\n");
+            builder.append("        while (i < this.n) {\n");
+            builder.append("            int j = 0;\n");
+            builder.append("            while (j < this.n) {\n");
+            builder.append("                int k = 0;\n");
+            builder.append("                this.c[i][j] = 0;\n");
+            builder.append("                while (k < this.n) {\n");
+            builder.append("                    this.c[i][j] = this.c[i][j] + this.a[i][k] * this.b[k][j];\n");
+            builder.append("                    k = k + 1;\n");
+            builder.append("                }\n");
+            builder.append("                j = j + 1;\n");
+            builder.append("            }\n");
+            builder.append("            i = i + 1;\n");
+            builder.append("        }\n");
+            builder.append("    }\n");
+
+            builder.append("    public void sort").append(index).append("(int[] values, int length) {\n");
+            builder.append("        int i = 0;\n");
+            builder.append("        while (i < length) {\n");
+            builder.append("            int j = 0;\n");
+            builder.append("            while (j + 1 < length - i) {\n");
+            builder.append("                if (values[j] > values[j + 1]) {\n");
+            builder.append("                    int t = values[j];\n");
+            builder.append("                    values[j] = values[j + 1];\n");
+            builder.append("                    values[j + 1] = t;\n");
+            builder.append("                }\n");
+            builder.append("                j = j + 1;\n");
+            builder.append("            }\n");
+            builder.append("            i = i + 1;\n");
+            builder.append("        }\n");
+            builder.append("    }\n");
+
+            builder.append("    public void stencil").append(index).append("() {\n");
+            builder.append("        int i = 1;\n");
+            builder.append("        while (i + 1 < this.n) {\n");
+            builder.append("            int j = 1;\n");
+            builder.append("            while (j + 1 < this.n) {\n");
+            builder.append("                this.b[i][j] = (this.a[i - 1][j] + this.a[i + 1][j] + this.a[i][j - 1]\n");
+            builder.append("                    + this.a[i][j + 1] + 4 * this.a[i][j]) / 8;\n");
+            builder.append("                j = j + 1;\n");
+            builder.append("            }\n");
+            builder.append("            i = i + 1;\n");
+            builder.append("        }\n");
+            builder.append("    }\n");
+
+            builder.append("    public int norm").append(index).append("() {\n");
+            builder.append("        int sum = 0;\n");
+            builder.append("        int i = 0;\n");
+            builder.append("        while (i < this.n) {\n");
+            builder.append("            int j = 0;\n");
+            builder.append("            while (j < this.n) {\n");
+            builder.append("                sum = sum + this.a[i][j] * this.a[i][j] + this.b[i][j] * this.b[i][j];\n");
+            builder.append("                j = j + 1;\n");
+            builder.append("            }\n");
+            builder.append("            i = i + 1;\n");
+            builder.append("        }\n");
+            builder.append("        return sum;\n");
+            builder.append("    }\n");
+        }
+
+        builder.append("    public static void main(String[] args) { }\n");
+        builder.append("}\n");
+
+        byte[] input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        this.program = new Parser(new Lexer(input)).parseProgram();
+
+        new ReferenceAndExpressionTypeResolver(this.program);
+    }
+
+    @Setup(Level.Invocation)
+    public void constructGraphs() {
+        EntityVisitor visitor = new EntityVisitor();
+        visitor.startVisit(this.program);
+
+        GraphGenerator generator = new GraphGenerator(visitor.getRuntimeEntities(), visitor.getMembers(),
+            visitor.getTypes(), false, false, false);
+
+        this.graphs = new ArrayList<>();
+        generator.transform(this.program).forEach(this.graphs::add);
+
+        for (Graph graph : this.graphs) {
+            new ConstantFolder(graph, false);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishFirm(LoadCounter counter) {
+        for (Graph graph : this.graphs) {
+            NodeCollector collector = new NodeCollector();
+            graph.walk(collector);
+
+            for (firm.nodes.Node node : collector.getNodes()) {
+                if (node instanceof firm.nodes.Load) {
+                    counter.loads += 1;
+                }
+            }
+        }
+
+        Firm.finish();
+    }
+
+    /// Counts the loads left after value numbering, which the benchmark reports as a secondary result.
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class LoadCounter {
+        public long loads;
+    }
+
+    @Benchmark
+    public List<Graph> number() {
+        for (Graph graph : this.graphs) {
+            new GlobalValueNumbering(graph);
+        }
+
+        return this.graphs;
+    }
+}
@@ -37,27 +37,68 @@ public abstract class ASTVisitor<T> {
     protected abstract void visit(Expression.SystemOutWriteExpression expression, T context);
     protected abstract void visit(Expression.SystemInReadExpression expression, T context);
 
-    private final Stack<ASTNode> nodes = new Stack<>();
+    // MARK: - Parent Tracking
+
+    /// The nodes that are currently being visited, outermost first. Only maintained if parents are tracked.
+    private ASTNode[] nodes = new ASTNode[32];
+    private int numberOfNodes = 0;
+    private final boolean tracksParents;
+
+    protected ASTVisitor() {
+        this(true);
+    }
+
+    /**
+     * Creates a visitor. Visitors that never ask for the nodes enclosing the one they are visiting can pass false to
+     * skip keeping track of them.
+     */
+    protected ASTVisitor(boolean tracksParents) {
+        this.tracksParents = tracksParents;
+    }
 
     protected final void willVisit(ASTNode node) {
-        this.nodes.push(node);
+        if (!this.tracksParents) {
+            return;
+        }
+
+        if (this.numberOfNodes == this.nodes.length) {
+            this.nodes = Arrays.copyOf(this.nodes, this.nodes.length * 2);
+        }
+
+        this.nodes[this.numberOfNodes++] = node;
     }
+
     protected final void didVisit(ASTNode node) {
-        assert this.nodes.peek() == node;
+        if (!this.tracksParents) {
+            return;
+        }
+
+        assert this.numberOfNodes > 0 && this.nodes[this.numberOfNodes - 1] == node;
 
-        this.nodes.pop();
+        this.nodes[--this.numberOfNodes] = null;
     }
 
     protected final Optional<ASTNode> getPreviousNode() {
-        return this.getPreviousNode(1);
+        return Optional.ofNullable(this.getPreviousNodeOrNull(1));
     }
 
     protected final Optional<ASTNode> getPreviousNode(int offset) {
-        if (this.nodes.size() >= offset + 1) {
-            return Optional.of(this.nodes.get(this.nodes.size() - (offset + 1)));
+        return Optional.ofNullable(this.getPreviousNodeOrNull(offset));
+    }
+
+    /**
+     * Returns the node that encloses the currently visited node by the given number of levels, or null if there is no
+     * such node. An offset of 0 denotes the currently visited node itself.
+     */
+    protected final ASTNode getPreviousNodeOrNull(int offset) {
+        if (!this.tracksParents) throw new IllegalStateException("Visitor does not track parents.");
+        if (offset < 0) throw new IllegalArgumentException();
+
+        if (this.numberOfNodes >= offset + 1) {
+            return this.nodes[this.numberOfNodes - (offset + 1)];
         }
         else {
-            return Optional.empty();
+            return null;
         }
     }
 }
@@ -8,7 +8,14 @@ public final class ClassDeclaration implements BasicTypeDeclaration, ASTNode {
     public ClassDeclaration(String name, List<MainMethodDeclaration> mainMethodDeclarations,
                     List<MethodDeclaration> methodDeclarations, List<FieldDeclaration> fieldDeclarations,
                     TokenLocation location) {
+        this(name, NameTable.NO_ID, mainMethodDeclarations, methodDeclarations, fieldDeclarations, location);
+    }
+
+    public ClassDeclaration(String name, int nameID, List<MainMethodDeclaration> mainMethodDeclarations,
+                    List<MethodDeclaration> methodDeclarations, List<FieldDeclaration> fieldDeclarations,
+                    TokenLocation location) {
         this.name = name;
+        this.nameID = nameID;
         this.mainMethodDeclarations = Collections.unmodifiableList(mainMethodDeclarations);
         this.methodDeclarations = Collections.unmodifiableList(methodDeclarations);
         this.fieldDeclarations = Collections.unmodifiableList(fieldDeclarations);
@@ -16,6 +23,7 @@ public final class ClassDeclaration implements BasicTypeDeclaration, ASTNode {
     }
 
     private final String name;
+    private final int nameID;
     private final List<MainMethodDeclaration> mainMethodDeclarations;
     private final List<MethodDeclaration> methodDeclarations;
     private final List<FieldDeclaration> fieldDeclarations;
@@ -26,6 +34,22 @@ public final class ClassDeclaration implements BasicTypeDeclaration, ASTNode {
         return this.name;
     }
 
+    /** The ID of the name in the program's name table, or {@link NameTable#NO_ID} if unknown. */
+    public int getNameID() {
+        return this.nameID;
+    }
+
+    private int slot = -1;
+
+    /** The number of this class among all classes of the program, or -1 if it has not been assigned yet. */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     public List<MainMethodDeclaration> getMainMethodDeclarations() {
         return this.mainMethodDeclarations;
     }
@@ -8,13 +8,17 @@ import java.util.stream.*;
 
 public abstract class Expression implements ASTNode {
     private Expression() {
-        this.type = new TypeOfExpression();
     }
 
-    private final TypeOfExpression type;
+    /// Allocated on first access, so phases that never look at types do not pay for them.
+    private TypeOfExpression type = null;
     private int numberOfExplicitParentheses = 0;
 
     public TypeOfExpression getType() {
+        if (this.type == null) {
+            this.type = new TypeOfExpression();
+        }
+
         return this.type;
     }
 
@@ -285,21 +289,21 @@ public abstract class Expression implements ASTNode {
 
     public static final class MethodInvocation extends Expression {
         public MethodInvocation(String methodName, List<Expression> arguments, TokenLocation location) {
-            super();
-
-            this.context = null;
-            this.arguments = arguments;
-            this.methodReference = new ExplicitReference<>(methodName, location);
-            this.location = location;
+            this(null, methodName, NameTable.NO_ID, arguments, location);
         }
 
         public MethodInvocation(Expression context, String methodName, List<Expression> arguments,
                                 TokenLocation location) {
+            this(context, methodName, NameTable.NO_ID, arguments, location);
+        }
+
+        public MethodInvocation(Expression context, String methodName, int methodNameID, List<Expression> arguments,
+                                TokenLocation location) {
             super();
 
             this.context = context;
             this.arguments = arguments;
-            this.methodReference = new ExplicitReference<>(methodName, location);
+            this.methodReference = new ExplicitReference<>(methodName, methodNameID, location);
             this.location = location;
         }
 
@@ -362,10 +366,14 @@ public abstract class Expression implements ASTNode {
 
     public static final class ExplicitFieldAccess extends Expression {
         public ExplicitFieldAccess(Expression context, String fieldName, TokenLocation location) {
+            this(context, fieldName, NameTable.NO_ID, location);
+        }
+
+        public ExplicitFieldAccess(Expression context, String fieldName, int fieldNameID, TokenLocation location) {
             super();
 
             this.context = context;
-            this.fieldReference = new ExplicitReference<>(fieldName, location);
+            this.fieldReference = new ExplicitReference<>(fieldName, fieldNameID, location);
             this.location = location;
         }
 
@@ -468,14 +476,16 @@ public abstract class Expression implements ASTNode {
 
     public static final class VariableAccess extends Expression {
         public VariableAccess(String variableName, TokenLocation location) {
+            this(variableName, NameTable.NO_ID, location);
+        }
+
+        public VariableAccess(String variableName, int variableNameID, TokenLocation location) {
             super();
 
-            this.variableReference = new ExplicitReference<>(variableName, location);
-            this.location = location;
+            this.variableReference = new ExplicitReference<>(variableName, variableNameID, location);
         }
 
         private final ExplicitReference<VariableDeclaration> variableReference;
-        private final TokenLocation location;
 
         public ExplicitReference<VariableDeclaration> getVariableReference() {
             return this.variableReference;
@@ -483,7 +493,8 @@ public abstract class Expression implements ASTNode {
 
         @Override
         public TokenLocation getLocation() {
-            return this.location;
+            // The reference has the same location, so it is not stored twice.
+            return this.variableReference.getLocation();
         }
 
         @Override
@@ -544,9 +555,13 @@ public abstract class Expression implements ASTNode {
 
     public static final class NewObjectCreation extends Expression {
         public NewObjectCreation(String className, TokenLocation location) {
+            this(className, NameTable.NO_ID, location);
+        }
+
+        public NewObjectCreation(String className, int classNameID, TokenLocation location) {
             super();
 
-            this.classReference = new ExplicitReference<>(className, location);
+            this.classReference = new ExplicitReference<>(className, classNameID, location);
             this.location = location;
         }
 
@@ -4,15 +4,21 @@ import edu.kit.minijava.lexer.*;
 
 public final class FieldDeclaration implements VariableDeclaration, MemberDeclaration, ASTNode {
     public FieldDeclaration(TypeReference type, boolean isFinal, String name, TokenLocation location) {
+        this(type, isFinal, name, NameTable.NO_ID, location);
+    }
+
+    public FieldDeclaration(TypeReference type, boolean isFinal, String name, int nameID, TokenLocation location) {
         this.type = type;
         this.isFinal = isFinal;
         this.name = name;
+        this.nameID = nameID;
         this.location = location;
     }
 
     private final TypeReference type;
     private final boolean isFinal;
     private final String name;
+    private final int nameID;
     private final TokenLocation location;
 
     @Override
@@ -25,6 +31,22 @@ public final class FieldDeclaration implements VariableDeclaration, MemberDeclar
         return this.name;
     }
 
+    @Override
+    public int getNameID() {
+        return this.nameID;
+    }
+
+    private int slot = -1;
+
+    /** The number of this field among all fields of the program, or -1 if it has not been assigned yet. */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     @Override
     public TokenLocation getLocation() {
         return this.location;
@@ -0,0 +1,47 @@
+package edu.kit.minijava.ast.nodes;
+
+import java.util.function.*;
+
+/**
+ * The body of a method, which is either parsed eagerly or parsed when it is first accessed. Parsing happens at most
+ * once, even if the body is accessed from multiple threads.
+ */
+final class LazyBlock {
+    LazyBlock(Statement.Block block) {
+        this.block = block;
+        this.parser = null;
+    }
+
+    LazyBlock(Supplier<Statement.Block> parser) {
+        if (parser == null) throw new IllegalArgumentException();
+
+        this.block = null;
+        this.parser = parser;
+    }
+
+    private volatile Statement.Block block;
+    private Supplier<Statement.Block> parser; // nullable
+
+    Statement.Block get() {
+        Statement.Block block = this.block;
+
+        if (block == null) {
+            synchronized (this) {
+                block = this.block;
+
+                if (block == null && this.parser != null) {
+                    block = this.parser.get();
+
+                    this.block = block;
+                    this.parser = null;
+                }
+            }
+        }
+
+        return block;
+    }
+
+    boolean isParsed() {
+        return this.block != null;
+    }
+}
@@ -3,18 +3,37 @@ package edu.kit.minijava.ast.nodes;
 import edu.kit.minijava.lexer.*;
 
 import java.util.*;
+import java.util.function.*;
 
 public final class MainMethodDeclaration implements SubroutineDeclaration, MemberDeclaration, ASTNode {
     public MainMethodDeclaration(String name, Token argumentsParameterNameToken, Statement.Block body,
                                  TokenLocation location) {
+        this(name, NameTable.NO_ID, argumentsParameterNameToken, body, location);
+    }
+
+    public MainMethodDeclaration(String name, int nameID, Token argumentsParameterNameToken, Statement.Block body,
+                                 TokenLocation location) {
+        this(name, nameID, argumentsParameterNameToken, new LazyBlock(body), location);
+    }
+
+    /** Creates a main method whose body is parsed by the given function when it is first accessed. */
+    public MainMethodDeclaration(String name, int nameID, Token argumentsParameterNameToken,
+                                 Supplier<Statement.Block> bodyParser, TokenLocation location) {
+        this(name, nameID, argumentsParameterNameToken, new LazyBlock(bodyParser), location);
+    }
+
+    private MainMethodDeclaration(String name, int nameID, Token argumentsParameterNameToken, LazyBlock body,
+                                  TokenLocation location) {
         ImplicitTypeReference parameterType = new ImplicitTypeReference(PrimitiveTypeDeclaration.STRING, 1);
         String parameterName = argumentsParameterNameToken.getText();
+        int parameterNameID = argumentsParameterNameToken.getNameID();
         TokenLocation parameterLocation = argumentsParameterNameToken.getLocation();
-        ParameterDeclaration parameter = new ParameterDeclaration(parameterType, parameterName, parameterLocation,
-                false);
+        ParameterDeclaration parameter = new ParameterDeclaration(parameterType, parameterName, parameterNameID,
+                parameterLocation, false);
 
         this.returnType = new ImplicitTypeReference(PrimitiveTypeDeclaration.VOID, 0);
         this.name = name;
+        this.nameID = nameID;
         this.argumentsParameter = parameter;
         this.body = body;
         this.location = location;
@@ -22,8 +41,9 @@ public final class MainMethodDeclaration implements SubroutineDeclaration, Membe
 
     private final TypeReference returnType;
     private final String name;
+    private final int nameID;
     private final ParameterDeclaration argumentsParameter;
-    private final Statement.Block body;
+    private final LazyBlock body;
     private final TokenLocation location;
 
     @Override
@@ -36,12 +56,36 @@ public final class MainMethodDeclaration implements SubroutineDeclaration, Membe
         return this.name;
     }
 
+    @Override
+    public int getNameID() {
+        return this.nameID;
+    }
+
+    private int slot = -1;
+
+    /**
+     * The number of this method among all methods and main methods of the program, or -1 if it has not
+     * been assigned yet.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     public VariableDeclaration getArgumentsParameter() {
         return this.argumentsParameter;
     }
 
+    /** Returns the body of the method, parsing it first if it was deferred. */
     public Statement.Block getBody() {
-        return this.body;
+        return this.body.get();
+    }
+
+    public boolean isBodyParsed() {
+        return this.body.isParsed();
     }
 
     public TokenLocation getLocation() {
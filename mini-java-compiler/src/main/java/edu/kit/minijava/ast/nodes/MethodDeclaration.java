@@ -3,13 +3,31 @@ package edu.kit.minijava.ast.nodes;
 import edu.kit.minijava.lexer.*;
 
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 public final class MethodDeclaration implements SubroutineDeclaration, MemberDeclaration, ASTNode {
     public MethodDeclaration(TypeReference returnType, String name, List<ParameterDeclaration> parameters,
                              Statement.Block body, TokenLocation location) {
+        this(returnType, name, NameTable.NO_ID, parameters, body, location);
+    }
+
+    public MethodDeclaration(TypeReference returnType, String name, int nameID, List<ParameterDeclaration> parameters,
+                             Statement.Block body, TokenLocation location) {
+        this(returnType, name, nameID, parameters, new LazyBlock(body), location);
+    }
+
+    /** Creates a method whose body is parsed by the given function when it is first accessed. */
+    public MethodDeclaration(TypeReference returnType, String name, int nameID, List<ParameterDeclaration> parameters,
+                             Supplier<Statement.Block> bodyParser, TokenLocation location) {
+        this(returnType, name, nameID, parameters, new LazyBlock(bodyParser), location);
+    }
+
+    private MethodDeclaration(TypeReference returnType, String name, int nameID, List<ParameterDeclaration> parameters,
+                              LazyBlock body, TokenLocation location) {
         this.returnType = returnType;
         this.name = name;
+        this.nameID = nameID;
         this.parameters = Collections.unmodifiableList(parameters);
         this.body = body;
         this.location = location;
@@ -17,8 +35,9 @@ public final class MethodDeclaration implements SubroutineDeclaration, MemberDec
 
     private final TypeReference returnType;
     private final String name;
+    private final int nameID;
     private final List<ParameterDeclaration> parameters;
-    private final Statement.Block body;
+    private final LazyBlock body;
     private final TokenLocation location;
 
     @Override
@@ -31,12 +50,36 @@ public final class MethodDeclaration implements SubroutineDeclaration, MemberDec
         return this.name;
     }
 
+    @Override
+    public int getNameID() {
+        return this.nameID;
+    }
+
+    private int slot = -1;
+
+    /**
+     * The number of this method among all methods and main methods of the program, or -1 if it has not
+     * been assigned yet.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     public List<? extends VariableDeclaration> getParameters() {
         return this.parameters;
     }
 
+    /** Returns the body of the method, parsing it first if it was deferred. */
     public Statement.Block getBody() {
-        return this.body;
+        return this.body.get();
+    }
+
+    public boolean isBodyParsed() {
+        return this.body.isParsed();
     }
 
     public TokenLocation getLocation() {
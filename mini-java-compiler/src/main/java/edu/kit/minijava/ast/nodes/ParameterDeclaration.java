@@ -4,21 +4,24 @@ import edu.kit.minijava.lexer.*;
 
 public final class ParameterDeclaration implements VariableDeclaration, ASTNode {
     public ParameterDeclaration(TypeReference type, String name, TokenLocation location) {
-        this.type = type;
-        this.name = name;
-        this.location = location;
-        this.canBeAccessed = true;
+        this(type, name, NameTable.NO_ID, location, true);
+    }
+
+    public ParameterDeclaration(TypeReference type, String name, int nameID, TokenLocation location) {
+        this(type, name, nameID, location, true);
     }
 
-    ParameterDeclaration(TypeReference type, String name, TokenLocation location, boolean canBeAccessed) {
+    ParameterDeclaration(TypeReference type, String name, int nameID, TokenLocation location, boolean canBeAccessed) {
         this.type = type;
         this.name = name;
+        this.nameID = nameID;
         this.location = location;
         this.canBeAccessed = canBeAccessed;
     }
 
     private final TypeReference type;
     private final String name;
+    private final int nameID;
     private final TokenLocation location;
     private final boolean canBeAccessed;
 
@@ -32,6 +35,11 @@ public final class ParameterDeclaration implements VariableDeclaration, ASTNode
         return this.name;
     }
 
+    @Override
+    public int getNameID() {
+        return this.nameID;
+    }
+
     @Override
     public TokenLocation getLocation() {
         return this.location;
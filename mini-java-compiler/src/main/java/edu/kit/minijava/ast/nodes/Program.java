@@ -1,20 +1,34 @@
 package edu.kit.minijava.ast.nodes;
 
+import edu.kit.minijava.lexer.*;
+
 import java.util.*;
 
 public final class Program implements ASTNode {
     public Program(List<ClassDeclaration> classDeclarations) {
+        this(classDeclarations, new NameTable());
+    }
+
+    public Program(List<ClassDeclaration> classDeclarations, NameTable nameTable) {
         if (classDeclarations == null) throw new IllegalArgumentException();
+        if (nameTable == null) throw new IllegalArgumentException();
 
         this.classDeclarations = Collections.unmodifiableList(classDeclarations);
+        this.nameTable = nameTable;
     }
 
     private final List<ClassDeclaration> classDeclarations;
+    private final NameTable nameTable;
 
     public List<ClassDeclaration> getClassDeclarations() {
         return this.classDeclarations;
     }
 
+    /** The name table that the name IDs of the declarations and references in this program refer to. */
+    public NameTable getNameTable() {
+        return this.nameTable;
+    }
+
     @Override
     public <T> void accept(ASTVisitor<T> visitor, T context) {
         visitor.willVisit(this);
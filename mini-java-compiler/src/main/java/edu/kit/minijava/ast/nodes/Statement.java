@@ -344,22 +344,26 @@ public abstract class Statement implements ASTNode {
 
     public static final class LocalVariableDeclarationStatement extends Statement implements VariableDeclaration {
         public LocalVariableDeclarationStatement(TypeReference type, String name, TokenLocation location) {
-            this.type = type;
-            this.name = name;
-            this.value = null;
-            this.location = location;
+            this(type, name, NameTable.NO_ID, null, location);
         }
 
         public LocalVariableDeclarationStatement(TypeReference type, String name, Expression value,
                                                  TokenLocation location) {
+            this(type, name, NameTable.NO_ID, value, location);
+        }
+
+        public LocalVariableDeclarationStatement(TypeReference type, String name, int nameID, Expression value,
+                                                 TokenLocation location) {
             this.type = type;
             this.name = name;
+            this.nameID = nameID;
             this.value = value;
             this.location = location;
         }
 
         private final TypeReference type;
         private final String name;
+        private final int nameID;
         private Expression value; //nullable
         private final TokenLocation location;
 
@@ -373,6 +377,11 @@ public abstract class Statement implements ASTNode {
             return this.name;
         }
 
+        @Override
+        public int getNameID() {
+            return this.nameID;
+        }
+
         @Override
         public boolean canBeShadowedByVariableDeclarationInNestedScope() {
             return false;
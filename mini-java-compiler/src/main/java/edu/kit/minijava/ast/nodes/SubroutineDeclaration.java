@@ -1,5 +1,7 @@
 package edu.kit.minijava.ast.nodes;
 
+import edu.kit.minijava.lexer.*;
+
 import java.util.*;
 
 public interface SubroutineDeclaration extends Declaration, ASTDumpable {
@@ -7,6 +9,9 @@ public interface SubroutineDeclaration extends Declaration, ASTDumpable {
     /** The name of the subroutine. */
     String getName();
 
+    /** The ID of the name in the program's name table, or {@link NameTable#NO_ID} if unknown. */
+    int getNameID();
+
     /** References to the types the subroutine takes as parameters. */
     List<TypeReference> getParameterTypes();
 
@@ -7,6 +7,9 @@ public interface VariableDeclaration extends Declaration, ASTNode {
     /** The name of the variable. */
     String getName();
 
+    /** The ID of the name in the program's name table, or {@link NameTable#NO_ID} if unknown. */
+    int getNameID();
+
     /**
      * The location of the declaration in the source code.
      * May return null if the declaration is not explicitly contained in the source code.
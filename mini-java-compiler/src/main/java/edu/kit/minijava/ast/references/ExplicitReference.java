@@ -8,11 +8,17 @@ import edu.kit.minijava.lexer.*;
  */
 public class ExplicitReference<DeclarationType extends Declaration> extends Reference<DeclarationType> {
     public ExplicitReference(String name, TokenLocation location) {
+        this(name, NameTable.NO_ID, location);
+    }
+
+    public ExplicitReference(String name, int nameID, TokenLocation location) {
         this.name = name;
+        this.nameID = nameID;
         this.location = location;
     }
 
     private final String name;
+    private final int nameID;
     private final TokenLocation location;
     private DeclarationType declaration = null;
 
@@ -20,6 +26,11 @@ public class ExplicitReference<DeclarationType extends Declaration> extends Refe
         return this.name;
     }
 
+    /** The ID of the name in the program's name table, or {@link NameTable#NO_ID} if unknown. */
+    public final int getNameID() {
+        return this.nameID;
+    }
+
     public final TokenLocation getLocation() {
         return this.location;
     }
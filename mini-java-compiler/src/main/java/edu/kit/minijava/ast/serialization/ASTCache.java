@@ -0,0 +1,93 @@
+package edu.kit.minijava.ast.serialization;
+
+import edu.kit.minijava.ast.nodes.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+/**
+ * An on-disk cache of serialized programs. Entries are keyed by the SHA-256 hash of the source they were parsed from,
+ * so unchanged files can be loaded without running the lexer and parser again, no matter where they are located.
+ */
+public final class ASTCache {
+    public ASTCache(File directory) {
+        if (directory == null) throw new IllegalArgumentException();
+
+        this.directory = directory.toPath();
+    }
+
+    private final Path directory;
+
+    /**
+     * Returns the cached program for the given source, if any. Entries that cannot be read, e.g. because they were
+     * written by another version of the compiler or have been corrupted, are treated as missing.
+     */
+    public Optional<Program> load(byte[] source) {
+        if (source == null) throw new IllegalArgumentException();
+
+        Path path = this.getPath(source);
+
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new ProgramReader(Files.readAllBytes(path)).readProgram());
+        }
+        catch (IOException exception) {
+            return Optional.empty();
+        }
+        catch (RuntimeException | StackOverflowError exception) {
+            // Corrupted entries may still pass the reader's checks and fail while constructing the nodes, or nest
+            // expressions more deeply than any source the parser accepts.
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a program that was parsed from the given source. The entry is written to a temporary file first and then
+     * moved into place, so concurrent compiler runs never see partially written entries.
+     */
+    public void store(byte[] source, Program program) throws IOException {
+        if (source == null) throw new IllegalArgumentException();
+        if (program == null) throw new IllegalArgumentException();
+
+        byte[] bytes = new ProgramWriter().write(program);
+        Path path = this.getPath(source);
+
+        Files.createDirectories(this.directory);
+
+        Path temporaryPath = Files.createTempFile(this.directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            Files.write(temporaryPath, bytes);
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private Path getPath(byte[] source) {
+        byte[] hash;
+
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(source);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            // Every Java platform is required to support SHA-256.
+            throw new AssertionError(exception);
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        for (byte value : hash) {
+            builder.append(Character.forDigit((value >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(value & 0xF, 16));
+        }
+
+        return this.directory.resolve(builder.append(".ast").toString());
+    }
+}
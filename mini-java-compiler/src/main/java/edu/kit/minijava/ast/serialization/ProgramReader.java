@@ -0,0 +1,411 @@
+package edu.kit.minijava.ast.serialization;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.ast.references.*;
+import edu.kit.minijava.lexer.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Reconstructs a program that was serialized by {@link ProgramWriter}. The program gets a fresh name table with the
+ * same IDs as the one of the original program. Source locations are restored as rows and columns.
+ */
+public final class ProgramReader {
+    public ProgramReader(byte[] bytes) {
+        if (bytes == null) throw new IllegalArgumentException();
+
+        this.bytes = bytes;
+    }
+
+    private static final BinaryOperationType[] BINARY_OPERATION_TYPES = BinaryOperationType.values();
+    private static final UnaryOperationType[] UNARY_OPERATION_TYPES = UnaryOperationType.values();
+
+    private final byte[] bytes;
+    private int position = 0;
+    private int previousRow = 0;
+    private NameTable nameTable = null;
+
+
+    // MARK: - Entry Point
+
+    /** Reads the program. Throws if the data is truncated, corrupt or was written by another version. */
+    public Program readProgram() throws IOException {
+        this.position = 0;
+        this.previousRow = 0;
+
+        if (this.bytes.length < 4 || this.readInt() != ProgramWriter.MAGIC) {
+            throw new IOException("Not a serialized program");
+        }
+
+        if (this.readVarint() != ProgramWriter.VERSION) {
+            throw new IOException("Unsupported serialization format version");
+        }
+
+        this.nameTable = new NameTable();
+
+        int numberOfNames = this.readVarint();
+
+        for (int id = 0; id < numberOfNames; id++) {
+            if (this.nameTable.getID(this.readString()) != id) {
+                throw new IOException("Duplicate name in name table");
+            }
+        }
+
+        int numberOfClasses = this.readVarint();
+        List<ClassDeclaration> classDeclarations = new ArrayList<>();
+
+        for (int index = 0; index < numberOfClasses; index++) {
+            classDeclarations.add(this.readClassDeclaration());
+        }
+
+        if (this.position != this.bytes.length) {
+            throw new IOException("Trailing data after serialized program");
+        }
+
+        return new Program(classDeclarations, this.nameTable);
+    }
+
+
+    // MARK: - Declarations
+
+    private ClassDeclaration readClassDeclaration() throws IOException {
+        int nameID = this.readNameID();
+        String name = this.getName(nameID);
+        TokenLocation location = this.readLocation();
+
+        int numberOfMainMethods = this.readVarint();
+        List<MainMethodDeclaration> mainMethods = new ArrayList<>();
+
+        for (int index = 0; index < numberOfMainMethods; index++) {
+            mainMethods.add(this.readMainMethodDeclaration());
+        }
+
+        int numberOfMethods = this.readVarint();
+        List<MethodDeclaration> methods = new ArrayList<>();
+
+        for (int index = 0; index < numberOfMethods; index++) {
+            methods.add(this.readMethodDeclaration());
+        }
+
+        int numberOfFields = this.readVarint();
+        List<FieldDeclaration> fields = new ArrayList<>();
+
+        for (int index = 0; index < numberOfFields; index++) {
+            fields.add(this.readFieldDeclaration());
+        }
+
+        return new ClassDeclaration(name, nameID, mainMethods, methods, fields, location);
+    }
+
+    private FieldDeclaration readFieldDeclaration() throws IOException {
+        TypeReference type = this.readTypeReference();
+        boolean isFinal = this.readBoolean();
+        int nameID = this.readNameID();
+        String name = this.getName(nameID);
+        TokenLocation location = this.readLocation();
+
+        return new FieldDeclaration(type, isFinal, name, nameID, location);
+    }
+
+    private MainMethodDeclaration readMainMethodDeclaration() throws IOException {
+        int nameID = this.readNameID();
+        String name = this.getName(nameID);
+        TokenLocation location = this.readLocation();
+
+        int parameterNameID = this.readNameID();
+        String parameterName = this.getName(parameterNameID);
+        TokenLocation parameterLocation = this.readLocation();
+        Token parameterToken = new Token(TokenType.IDENTIFIER, parameterName, parameterNameID, parameterLocation);
+
+        Statement.Block body = this.readBlock();
+
+        return new MainMethodDeclaration(name, nameID, parameterToken, body, location);
+    }
+
+    private MethodDeclaration readMethodDeclaration() throws IOException {
+        TypeReference returnType = this.readTypeReference();
+        int nameID = this.readNameID();
+        String name = this.getName(nameID);
+        TokenLocation location = this.readLocation();
+
+        int numberOfParameters = this.readVarint();
+        List<ParameterDeclaration> parameters = new ArrayList<>();
+
+        for (int index = 0; index < numberOfParameters; index++) {
+            TypeReference type = this.readTypeReference();
+            int parameterNameID = this.readNameID();
+            String parameterName = this.getName(parameterNameID);
+            TokenLocation parameterLocation = this.readLocation();
+
+            parameters.add(new ParameterDeclaration(type, parameterName, parameterNameID, parameterLocation));
+        }
+
+        Statement.Block body = this.readBlock();
+
+        return new MethodDeclaration(returnType, name, nameID, parameters, body, location);
+    }
+
+    private ExplicitTypeReference readTypeReference() throws IOException {
+        ExplicitReference<BasicTypeDeclaration> basicTypeReference = this.readReference();
+        int numberOfDimensions = this.readVarint();
+
+        return new ExplicitTypeReference(basicTypeReference, numberOfDimensions);
+    }
+
+
+    // MARK: - Statements
+
+    private Statement.Block readBlock() throws IOException {
+        Statement statement = this.readStatement();
+
+        if (!(statement instanceof Statement.Block)) {
+            throw new IOException("Expected block");
+        }
+
+        return (Statement.Block)statement;
+    }
+
+    private Statement readStatement() throws IOException {
+        int tag = this.readVarint();
+        TokenLocation location = this.readLocation();
+
+        switch (tag) {
+            case ProgramWriter.IF_STATEMENT: {
+                Expression condition = this.readExpression();
+                Statement statementIfTrue = this.readStatement();
+
+                if (this.readBoolean()) {
+                    return new Statement.IfStatement(condition, statementIfTrue, this.readStatement(), location);
+                }
+                else {
+                    return new Statement.IfStatement(condition, statementIfTrue, location);
+                }
+            }
+            case ProgramWriter.WHILE_STATEMENT: {
+                Expression condition = this.readExpression();
+                Statement statementWhileTrue = this.readStatement();
+
+                return new Statement.WhileStatement(condition, statementWhileTrue, location);
+            }
+            case ProgramWriter.EXPRESSION_STATEMENT:
+                return new Statement.ExpressionStatement(this.readExpression(), location);
+            case ProgramWriter.RETURN_STATEMENT:
+                if (this.readBoolean()) {
+                    return new Statement.ReturnStatement(this.readExpression(), location);
+                }
+                else {
+                    return new Statement.ReturnStatement(location);
+                }
+            case ProgramWriter.EMPTY_STATEMENT:
+                return new Statement.EmptyStatement(location);
+            case ProgramWriter.LOCAL_VARIABLE_DECLARATION_STATEMENT: {
+                TypeReference type = this.readTypeReference();
+                int nameID = this.readNameID();
+                String name = this.getName(nameID);
+                Expression value = this.readBoolean() ? this.readExpression() : null;
+
+                return new Statement.LocalVariableDeclarationStatement(type, name, nameID, value, location);
+            }
+            case ProgramWriter.BLOCK: {
+                int numberOfStatements = this.readVarint();
+                List<Statement> statements = new ArrayList<>();
+
+                for (int index = 0; index < numberOfStatements; index++) {
+                    statements.add(this.readStatement());
+                }
+
+                return new Statement.Block(statements, location);
+            }
+            default:
+                throw new IOException("Unknown statement tag " + tag);
+        }
+    }
+
+
+    // MARK: - Expressions
+
+    private Expression readExpression() throws IOException {
+        int tag = this.readVarint();
+        int numberOfExplicitParentheses = this.readVarint();
+        TokenLocation location = this.readLocation();
+
+        Expression expression = this.readExpression(tag, location);
+        expression.setNumberOfExplicitParentheses(numberOfExplicitParentheses);
+
+        return expression;
+    }
+
+    private Expression readExpression(int tag, TokenLocation location) throws IOException {
+        switch (tag) {
+            case ProgramWriter.BINARY_OPERATION: {
+                BinaryOperationType operationType = this.readEnumConstant(BINARY_OPERATION_TYPES);
+                Expression left = this.readExpression();
+                Expression right = this.readExpression();
+
+                return new Expression.BinaryOperation(operationType, left, right, location);
+            }
+            case ProgramWriter.UNARY_OPERATION: {
+                UnaryOperationType operationType = this.readEnumConstant(UNARY_OPERATION_TYPES);
+
+                return new Expression.UnaryOperation(operationType, this.readExpression(), location);
+            }
+            case ProgramWriter.NULL_LITERAL:
+                return new Expression.NullLiteral(location);
+            case ProgramWriter.BOOLEAN_LITERAL:
+                return new Expression.BooleanLiteral(this.readBoolean(), location);
+            case ProgramWriter.INTEGER_LITERAL:
+                return new Expression.IntegerLiteral(this.readString(), location);
+            case ProgramWriter.METHOD_INVOCATION: {
+                int nameID = this.readNameID();
+                String name = this.getName(nameID);
+                Expression context = this.readBoolean() ? this.readExpression() : null;
+
+                int numberOfArguments = this.readVarint();
+                List<Expression> arguments = new ArrayList<>();
+
+                for (int index = 0; index < numberOfArguments; index++) {
+                    arguments.add(this.readExpression());
+                }
+
+                return new Expression.MethodInvocation(context, name, nameID, arguments, location);
+            }
+            case ProgramWriter.EXPLICIT_FIELD_ACCESS: {
+                int nameID = this.readNameID();
+                String name = this.getName(nameID);
+
+                return new Expression.ExplicitFieldAccess(this.readExpression(), name, nameID, location);
+            }
+            case ProgramWriter.ARRAY_ELEMENT_ACCESS: {
+                Expression context = this.readExpression();
+                Expression index = this.readExpression();
+
+                return new Expression.ArrayElementAccess(context, index, location);
+            }
+            case ProgramWriter.VARIABLE_ACCESS: {
+                int nameID = this.readNameID();
+
+                return new Expression.VariableAccess(this.getName(nameID), nameID, location);
+            }
+            case ProgramWriter.CURRENT_CONTEXT_ACCESS:
+                return new Expression.CurrentContextAccess(location);
+            case ProgramWriter.NEW_OBJECT_CREATION: {
+                int nameID = this.readNameID();
+
+                return new Expression.NewObjectCreation(this.getName(nameID), nameID, location);
+            }
+            case ProgramWriter.NEW_ARRAY_CREATION: {
+                ExplicitReference<BasicTypeDeclaration> basicTypeReference = this.readReference();
+                int numberOfDimensions = this.readVarint();
+                Expression primaryDimension = this.readExpression();
+
+                return new Expression.NewArrayCreation(basicTypeReference, primaryDimension, numberOfDimensions,
+                        location);
+            }
+            default:
+                throw new IOException("Unknown expression tag " + tag);
+        }
+    }
+
+
+    // MARK: - Decoding
+
+    private <T extends Declaration> ExplicitReference<T> readReference() throws IOException {
+        int nameID = this.readNameID();
+        String name = this.getName(nameID);
+        TokenLocation location = this.readLocation();
+
+        return new ExplicitReference<>(name, nameID, location);
+    }
+
+    /// Returns the ID of a name from the name table, or NO_ID if the name follows inline. See {@link #getName(int)}.
+    private int readNameID() throws IOException {
+        int value = this.readVarint();
+
+        if (value < 0 || value > this.nameTable.size()) {
+            throw new IOException("Name ID out of range");
+        }
+
+        return value - 1;
+    }
+
+    private String getName(int nameID) throws IOException {
+        if (nameID != NameTable.NO_ID) {
+            return this.nameTable.getName(nameID);
+        }
+        else {
+            return this.readString();
+        }
+    }
+
+    private TokenLocation readLocation() throws IOException {
+        int encodedDelta = this.readVarint();
+        int row = this.previousRow + ((encodedDelta >>> 1) ^ -(encodedDelta & 1));
+        int column = this.readVarint();
+
+        this.previousRow = row;
+
+        return new TokenLocation(row, column);
+    }
+
+    private <T> T readEnumConstant(T[] constants) throws IOException {
+        int ordinal = this.readVarint();
+
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IOException("Enum constant out of range");
+        }
+
+        return constants[ordinal];
+    }
+
+    private String readString() throws IOException {
+        int length = this.readVarint();
+
+        if (length < 0 || length > this.bytes.length - this.position) {
+            throw new EOFException();
+        }
+
+        String value = new String(this.bytes, this.position, length, StandardCharsets.US_ASCII);
+        this.position += length;
+
+        return value;
+    }
+
+    private boolean readBoolean() throws IOException {
+        return this.readVarint() != 0;
+    }
+
+    private int readInt() throws IOException {
+        int value = 0;
+
+        for (int index = 0; index < 4; index++) {
+            value = (value << 8) | (this.readByte() & 0xFF);
+        }
+
+        return value;
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte next = this.readByte();
+            value |= (next & 0x7F) << shift;
+
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private byte readByte() throws IOException {
+        if (this.position >= this.bytes.length) {
+            throw new EOFException();
+        }
+
+        return this.bytes[this.position++];
+    }
+}
@@ -0,0 +1,455 @@
+package edu.kit.minijava.ast.serialization;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.ast.references.*;
+import edu.kit.minijava.lexer.*;
+
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * Serializes a freshly parsed program into a compact binary format that can be read back by {@link ProgramReader}
+ * without lexing or parsing the source again. Integers are stored as variable-length quantities and names are stored
+ * once in a copy of the program's name table, so nodes only refer to them by ID.
+ *
+ * Only the syntactic structure of the program is stored. Programs that have already been checked contain nodes and
+ * references that are created by semantic analysis and cannot be serialized.
+ */
+public final class ProgramWriter extends ASTVisitor<Void> {
+    public ProgramWriter() {
+        super(false);
+    }
+
+    static final int MAGIC = 0x4D4A4153; // "MJAS"
+    static final int VERSION = 1;
+
+    static final int IF_STATEMENT = 1;
+    static final int WHILE_STATEMENT = 2;
+    static final int EXPRESSION_STATEMENT = 3;
+    static final int RETURN_STATEMENT = 4;
+    static final int EMPTY_STATEMENT = 5;
+    static final int LOCAL_VARIABLE_DECLARATION_STATEMENT = 6;
+    static final int BLOCK = 7;
+
+    static final int BINARY_OPERATION = 1;
+    static final int UNARY_OPERATION = 2;
+    static final int NULL_LITERAL = 3;
+    static final int BOOLEAN_LITERAL = 4;
+    static final int INTEGER_LITERAL = 5;
+    static final int METHOD_INVOCATION = 6;
+    static final int EXPLICIT_FIELD_ACCESS = 7;
+    static final int ARRAY_ELEMENT_ACCESS = 8;
+    static final int VARIABLE_ACCESS = 9;
+    static final int CURRENT_CONTEXT_ACCESS = 10;
+    static final int NEW_OBJECT_CREATION = 11;
+    static final int NEW_ARRAY_CREATION = 12;
+
+    private byte[] bytes = new byte[1024];
+    private int size = 0;
+    private int previousRow = 0;
+
+
+    // MARK: - Entry Point
+
+    public byte[] write(Program program) {
+        if (program == null) throw new IllegalArgumentException();
+
+        this.size = 0;
+        this.previousRow = 0;
+
+        this.writeInt(MAGIC);
+        this.writeVarint(VERSION);
+
+        program.accept(this);
+
+        return Arrays.copyOf(this.bytes, this.size);
+    }
+
+
+    // MARK: - Declarations
+
+    @Override
+    protected void visit(Program program, Void context) {
+        NameTable names = program.getNameTable();
+
+        this.writeVarint(names.size());
+
+        for (int id = 0; id < names.size(); id++) {
+            this.writeString(names.getName(id));
+        }
+
+        this.writeVarint(program.getClassDeclarations().size());
+
+        for (ClassDeclaration declaration : program.getClassDeclarations()) {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    protected void visit(ClassDeclaration classDeclaration, Void context) {
+        this.writeName(classDeclaration.getName(), classDeclaration.getNameID());
+        this.writeLocation(classDeclaration.getLocation());
+
+        this.writeVarint(classDeclaration.getMainMethodDeclarations().size());
+
+        for (MainMethodDeclaration declaration : classDeclaration.getMainMethodDeclarations()) {
+            declaration.accept(this);
+        }
+
+        this.writeVarint(classDeclaration.getMethodDeclarations().size());
+
+        for (MethodDeclaration declaration : classDeclaration.getMethodDeclarations()) {
+            declaration.accept(this);
+        }
+
+        this.writeVarint(classDeclaration.getFieldDeclarations().size());
+
+        for (FieldDeclaration declaration : classDeclaration.getFieldDeclarations()) {
+            declaration.accept(this);
+        }
+    }
+
+    @Override
+    protected void visit(FieldDeclaration fieldDeclaration, Void context) {
+        fieldDeclaration.getType().accept(this);
+        this.writeBoolean(fieldDeclaration.isFinal());
+        this.writeName(fieldDeclaration.getName(), fieldDeclaration.getNameID());
+        this.writeLocation(fieldDeclaration.getLocation());
+    }
+
+    @Override
+    protected void visit(MainMethodDeclaration methodDeclaration, Void context) {
+        VariableDeclaration parameter = methodDeclaration.getArgumentsParameter();
+
+        this.writeName(methodDeclaration.getName(), methodDeclaration.getNameID());
+        this.writeLocation(methodDeclaration.getLocation());
+        this.writeName(parameter.getName(), parameter.getNameID());
+        this.writeLocation(parameter.getLocation());
+
+        methodDeclaration.getBody().accept(this);
+    }
+
+    @Override
+    protected void visit(MethodDeclaration methodDeclaration, Void context) {
+        methodDeclaration.getReturnType().accept(this);
+        this.writeName(methodDeclaration.getName(), methodDeclaration.getNameID());
+        this.writeLocation(methodDeclaration.getLocation());
+
+        this.writeVarint(methodDeclaration.getParameters().size());
+
+        for (VariableDeclaration parameter : methodDeclaration.getParameters()) {
+            ((ParameterDeclaration)parameter).accept(this);
+        }
+
+        methodDeclaration.getBody().accept(this);
+    }
+
+    @Override
+    protected void visit(ParameterDeclaration parameterDeclaration, Void context) {
+        parameterDeclaration.getType().accept(this);
+        this.writeName(parameterDeclaration.getName(), parameterDeclaration.getNameID());
+        this.writeLocation(parameterDeclaration.getLocation());
+    }
+
+    @Override
+    protected void visit(ExplicitTypeReference reference, Void context) {
+        this.writeReference(reference.getBasicTypeReference());
+        this.writeVarint(reference.getNumberOfDimensions());
+    }
+
+    @Override
+    protected void visit(ImplicitTypeReference reference, Void context) {
+        throw new IllegalArgumentException("Cannot serialize implicit type reference.");
+    }
+
+
+    // MARK: - Statements
+
+    @Override
+    protected void visit(Statement.IfStatement statement, Void context) {
+        this.writeVarint(IF_STATEMENT);
+        this.writeLocation(statement.getLocation());
+
+        statement.getCondition().accept(this);
+        statement.getStatementIfTrue().accept(this);
+
+        if (statement.getStatementIfFalse().isPresent()) {
+            this.writeBoolean(true);
+            statement.getStatementIfFalse().get().accept(this);
+        }
+        else {
+            this.writeBoolean(false);
+        }
+    }
+
+    @Override
+    protected void visit(Statement.WhileStatement statement, Void context) {
+        this.writeVarint(WHILE_STATEMENT);
+        this.writeLocation(statement.getLocation());
+
+        statement.getCondition().accept(this);
+        statement.getStatementWhileTrue().accept(this);
+    }
+
+    @Override
+    protected void visit(Statement.ExpressionStatement statement, Void context) {
+        this.writeVarint(EXPRESSION_STATEMENT);
+        this.writeLocation(statement.getLocation());
+
+        statement.getExpression().accept(this);
+    }
+
+    @Override
+    protected void visit(Statement.ReturnStatement statement, Void context) {
+        this.writeVarint(RETURN_STATEMENT);
+        this.writeLocation(statement.getLocation());
+
+        if (statement.getValue().isPresent()) {
+            this.writeBoolean(true);
+            statement.getValue().get().accept(this);
+        }
+        else {
+            this.writeBoolean(false);
+        }
+    }
+
+    @Override
+    protected void visit(Statement.EmptyStatement statement, Void context) {
+        this.writeVarint(EMPTY_STATEMENT);
+        this.writeLocation(statement.getLocation());
+    }
+
+    @Override
+    protected void visit(Statement.LocalVariableDeclarationStatement statement, Void context) {
+        this.writeVarint(LOCAL_VARIABLE_DECLARATION_STATEMENT);
+        this.writeLocation(statement.getLocation());
+
+        statement.getType().accept(this);
+        this.writeName(statement.getName(), statement.getNameID());
+
+        if (statement.getValue().isPresent()) {
+            this.writeBoolean(true);
+            statement.getValue().get().accept(this);
+        }
+        else {
+            this.writeBoolean(false);
+        }
+    }
+
+    @Override
+    protected void visit(Statement.Block block, Void context) {
+        this.writeVarint(BLOCK);
+        this.writeLocation(block.getLocation());
+
+        this.writeVarint(block.getStatements().size());
+
+        for (Statement statement : block.getStatements()) {
+            statement.accept(this);
+        }
+    }
+
+
+    // MARK: - Expressions
+
+    @Override
+    protected void visit(Expression.BinaryOperation expression, Void context) {
+        this.writeExpressionHeader(BINARY_OPERATION, expression);
+        this.writeVarint(expression.getOperationType().ordinal());
+
+        expression.getLeft().accept(this);
+        expression.getRight().accept(this);
+    }
+
+    @Override
+    protected void visit(Expression.UnaryOperation expression, Void context) {
+        this.writeExpressionHeader(UNARY_OPERATION, expression);
+        this.writeVarint(expression.getOperationType().ordinal());
+
+        expression.getOther().accept(this);
+    }
+
+    @Override
+    protected void visit(Expression.NullLiteral expression, Void context) {
+        this.writeExpressionHeader(NULL_LITERAL, expression);
+    }
+
+    @Override
+    protected void visit(Expression.BooleanLiteral expression, Void context) {
+        this.writeExpressionHeader(BOOLEAN_LITERAL, expression);
+        this.writeBoolean(expression.getValue());
+    }
+
+    @Override
+    protected void visit(Expression.IntegerLiteral expression, Void context) {
+        this.writeExpressionHeader(INTEGER_LITERAL, expression);
+        this.writeString(expression.getValue());
+    }
+
+    @Override
+    protected void visit(Expression.MethodInvocation expression, Void context) {
+        ExplicitReference<MethodDeclaration> reference = expression.getMethodReference();
+
+        this.writeExpressionHeader(METHOD_INVOCATION, expression);
+        this.writeName(reference.getName(), reference.getNameID());
+
+        if (expression.getContext().isPresent()) {
+            this.writeBoolean(true);
+            expression.getContext().get().accept(this);
+        }
+        else {
+            this.writeBoolean(false);
+        }
+
+        this.writeVarint(expression.getArguments().size());
+
+        for (Expression argument : expression.getArguments()) {
+            argument.accept(this);
+        }
+    }
+
+    @Override
+    protected void visit(Expression.ExplicitFieldAccess expression, Void context) {
+        ExplicitReference<FieldDeclaration> reference = expression.getFieldReference();
+
+        this.writeExpressionHeader(EXPLICIT_FIELD_ACCESS, expression);
+        this.writeName(reference.getName(), reference.getNameID());
+
+        expression.getContext().accept(this);
+    }
+
+    @Override
+    protected void visit(Expression.ArrayElementAccess expression, Void context) {
+        this.writeExpressionHeader(ARRAY_ELEMENT_ACCESS, expression);
+
+        expression.getContext().accept(this);
+        expression.getIndex().accept(this);
+    }
+
+    @Override
+    protected void visit(Expression.VariableAccess expression, Void context) {
+        ExplicitReference<VariableDeclaration> reference = expression.getVariableReference();
+
+        this.writeExpressionHeader(VARIABLE_ACCESS, expression);
+        this.writeName(reference.getName(), reference.getNameID());
+    }
+
+    @Override
+    protected void visit(Expression.CurrentContextAccess expression, Void context) {
+        this.writeExpressionHeader(CURRENT_CONTEXT_ACCESS, expression);
+    }
+
+    @Override
+    protected void visit(Expression.NewObjectCreation expression, Void context) {
+        ExplicitReference<ClassDeclaration> reference = expression.getClassReference();
+
+        this.writeExpressionHeader(NEW_OBJECT_CREATION, expression);
+        this.writeName(reference.getName(), reference.getNameID());
+    }
+
+    @Override
+    protected void visit(Expression.NewArrayCreation expression, Void context) {
+        this.writeExpressionHeader(NEW_ARRAY_CREATION, expression);
+        this.writeReference(expression.getBasicTypeReference());
+        this.writeVarint(expression.getNumberOfDimensions());
+
+        expression.getPrimaryDimension().accept(this);
+    }
+
+    @Override
+    protected void visit(Expression.SystemOutPrintlnExpression expression, Void context) {
+        throw new IllegalArgumentException("Cannot serialize checked program.");
+    }
+
+    @Override
+    protected void visit(Expression.SystemOutFlushExpression expression, Void context) {
+        throw new IllegalArgumentException("Cannot serialize checked program.");
+    }
+
+    @Override
+    protected void visit(Expression.SystemOutWriteExpression expression, Void context) {
+        throw new IllegalArgumentException("Cannot serialize checked program.");
+    }
+
+    @Override
+    protected void visit(Expression.SystemInReadExpression expression, Void context) {
+        throw new IllegalArgumentException("Cannot serialize checked program.");
+    }
+
+
+    // MARK: - Encoding
+
+    private void writeExpressionHeader(int tag, Expression expression) {
+        this.writeVarint(tag);
+        this.writeVarint(expression.getNumberOfExplicitParentheses());
+        this.writeLocation(expression.getLocation());
+    }
+
+    private void writeReference(ExplicitReference<?> reference) {
+        this.writeName(reference.getName(), reference.getNameID());
+        this.writeLocation(reference.getLocation());
+    }
+
+    /// Names from the name table are stored as their ID plus one, other names are stored inline after a zero.
+    private void writeName(String name, int nameID) {
+        if (nameID != NameTable.NO_ID) {
+            this.writeVarint(nameID + 1);
+        }
+        else {
+            this.writeVarint(0);
+            this.writeString(name);
+        }
+    }
+
+    /// Rows are stored relative to the previous location, so most of them fit into a single byte.
+    private void writeLocation(TokenLocation location) {
+        int delta = location.getRow() - this.previousRow;
+
+        this.writeVarint((delta << 1) ^ (delta >> 31));
+        this.writeVarint(location.getColumn());
+
+        this.previousRow = location.getRow();
+    }
+
+    private void writeString(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.US_ASCII);
+
+        this.writeVarint(encoded.length);
+        this.ensureCapacity(encoded.length);
+
+        System.arraycopy(encoded, 0, this.bytes, this.size, encoded.length);
+        this.size += encoded.length;
+    }
+
+    private void writeBoolean(boolean value) {
+        this.writeVarint(value ? 1 : 0);
+    }
+
+    private void writeInt(int value) {
+        this.ensureCapacity(4);
+
+        this.bytes[this.size++] = (byte)(value >>> 24);
+        this.bytes[this.size++] = (byte)(value >>> 16);
+        this.bytes[this.size++] = (byte)(value >>> 8);
+        this.bytes[this.size++] = (byte)value;
+    }
+
+    /// Seven bits per byte, least significant group first. The high bit is set on all but the last byte.
+    private void writeVarint(int value) {
+        this.ensureCapacity(5);
+
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            this.bytes[this.size++] = (byte)((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        this.bytes[this.size++] = (byte)remaining;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (this.size + additionalBytes > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + additionalBytes));
+        }
+    }
+}
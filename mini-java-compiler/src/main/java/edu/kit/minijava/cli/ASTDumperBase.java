@@ -11,6 +11,8 @@ import java.util.*;
 abstract class ASTDumperBase extends ASTVisitor<Void> {
 
     public ASTDumperBase(Program program) {
+        super(false);
+
         this.program = program;
     }
 
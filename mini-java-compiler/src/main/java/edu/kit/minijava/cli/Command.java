@@ -1,5 +1,15 @@
 package edu.kit.minijava.cli;
 
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.ast.serialization.*;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+import edu.kit.minijava.semantic.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
 public abstract class Command {
 
     private CompilerFlags flags;
@@ -17,5 +27,97 @@ public abstract class Command {
         return this.flags;
     }
 
+    /** Lexes the given source, splitting it into chunks that are lexed in parallel if requested. */
+    private TokenBuffer lex(byte[] source) {
+        if (this.flags.runInParallel()) {
+            return new ParallelLexer(source).lex();
+        }
+        else {
+            return new TokenBuffer(new Lexer(source));
+        }
+    }
+
+    /** Lexes and parses the file at the given path, parsing class declarations in parallel if requested. */
+    protected Program parseFile(String path) throws IOException, ParserException {
+        return this.parseFile(path, false);
+    }
+
+    /**
+     * Lexes and parses the file at the given path. If the command allows it and lazy parsing was requested, method
+     * bodies are only parsed when they are first accessed, and the caller must handle {@link WrappedParserException}.
+     * If an AST cache was configured, programs of unchanged files are loaded from the cache instead.
+     */
+    protected Program parseFile(String path, boolean allowsLazyParsing) throws IOException, ParserException {
+        boolean parsesMethodBodiesLazily = allowsLazyParsing && this.flags.parseLazily();
+        byte[] source = Lexer.readFile(path);
+
+        if (!this.flags.getASTCacheDirectory().isPresent()) {
+            return this.parse(source, parsesMethodBodiesLazily);
+        }
+
+        ASTCache cache = new ASTCache(new File(this.flags.getASTCacheDirectory().get()));
+        Optional<Program> cachedProgram = cache.load(source);
+
+        if (cachedProgram.isPresent()) {
+            return cachedProgram.get();
+        }
+
+        Program program = this.parse(source, parsesMethodBodiesLazily);
+
+        // Lazily parsed programs are not stored because serializing them would parse all method bodies anyway.
+        if (!parsesMethodBodiesLazily) {
+            try {
+                cache.store(source, program);
+            }
+            catch (IOException exception) {
+                // The cache is only an optimization, so failing to write to it must not fail the compilation.
+            }
+        }
+
+        return program;
+    }
+
+    private Program parse(byte[] source, boolean parsesMethodBodiesLazily) throws ParserException {
+        if (this.flags.reportAllErrors()) {
+            return this.parseReportingAllErrors(source);
+        }
+        else if (this.flags.runInParallel()) {
+            return new ParallelParser(this.lex(source), parsesMethodBodiesLazily).parseProgram();
+        }
+        else {
+            return new Parser(this.lex(source), parsesMethodBodiesLazily).parseProgram();
+        }
+    }
+
+    /**
+     * Parses the source sequentially and eagerly, recovering from syntax errors. All errors but the last are printed
+     * here, the last one is thrown so the command reports it like any other parser error.
+     */
+    private Program parseReportingAllErrors(byte[] source) throws ParserException {
+        Parser parser = new Parser(this.lex(source));
+        Program program = parser.parseProgramRecoveringFromErrors();
+        List<ParserException> errors = parser.getErrors();
+
+        if (errors.isEmpty()) {
+            return program;
+        }
+
+        for (ParserException error : errors.subList(0, errors.size() - 1)) {
+            System.err.println("error: " + error.getLocalizedMessage());
+        }
+
+        throw errors.get(errors.size() - 1);
+    }
+
+    /** Resolves references and expression types, checking method bodies in parallel if requested. */
+    protected void resolveReferences(Program program) throws SemanticException {
+        if (this.flags.runInParallel()) {
+            new ReferenceAndExpressionTypeResolver(program, ForkJoinPool.commonPool());
+        }
+        else {
+            new ReferenceAndExpressionTypeResolver(program);
+        }
+    }
+
     public abstract int execute(String path);
 }
@@ -45,6 +45,20 @@ public class CommandLineInterface {
     private static final String VERBOSE_SWITCH = "verbose";
     private static final String VERBOSE_SWITCH_DESC = "Be verbose during compilation.";
 
+    private static final String PARALLEL_SWITCH = "parallel";
+    private static final String PARALLEL_SWITCH_DESC = "Use multiple threads for the compiler frontend.";
+
+    private static final String LAZY_PARSING_SWITCH = "lazy-parsing";
+    private static final String LAZY_PARSING_SWITCH_DESC = "Parse method bodies only when semantic analysis reaches "
+        + "them (check only).";
+
+    private static final String ALL_ERRORS_SWITCH = "all-errors";
+    private static final String ALL_ERRORS_SWITCH_DESC = "Report all syntax errors instead of only the first one.";
+
+    private static final String AST_CACHE_OPTION = "ast-cache";
+    private static final String AST_CACHE_OPTION_DESC = "Cache parsed programs in the given directory and reuse them "
+        + "for unchanged input files.";
+
 
     private static CommandLine cmdLine;
 
@@ -206,6 +220,32 @@ public class CommandLineInterface {
             .build();
         options.addOption(verboseOption);
 
+        Option parallelOption = Option.builder()
+            .longOpt(PARALLEL_SWITCH)
+            .desc(PARALLEL_SWITCH_DESC)
+            .build();
+        options.addOption(parallelOption);
+
+        Option lazyParsingOption = Option.builder()
+            .longOpt(LAZY_PARSING_SWITCH)
+            .desc(LAZY_PARSING_SWITCH_DESC)
+            .build();
+        options.addOption(lazyParsingOption);
+
+        Option allErrorsOption = Option.builder()
+            .longOpt(ALL_ERRORS_SWITCH)
+            .desc(ALL_ERRORS_SWITCH_DESC)
+            .build();
+        options.addOption(allErrorsOption);
+
+        Option astCacheOption = Option.builder()
+            .longOpt(AST_CACHE_OPTION)
+            .desc(AST_CACHE_OPTION_DESC)
+            .hasArg()
+            .argName("directory")
+            .build();
+        options.addOption(astCacheOption);
+
         return options;
     }
 
@@ -228,11 +268,18 @@ public class CommandLineInterface {
     }
 
     private static CompilerFlags extractFlags() {
-        return new CompilerFlags(
+        CompilerFlags flags = new CompilerFlags(
             cmdLine.hasOption(DUMP_SWITCH),
             !cmdLine.hasOption(NO_OPTIMIZATION_SWITCH),
             cmdLine.hasOption(VERBOSE_SWITCH)
         );
+
+        flags.setRunInParallel(cmdLine.hasOption(PARALLEL_SWITCH));
+        flags.setParseLazily(cmdLine.hasOption(LAZY_PARSING_SWITCH));
+        flags.setReportAllErrors(cmdLine.hasOption(ALL_ERRORS_SWITCH));
+        flags.setASTCacheDirectory(cmdLine.getOptionValue(AST_CACHE_OPTION));
+
+        return flags;
     }
 
     private static void printError(String errorMessage) {
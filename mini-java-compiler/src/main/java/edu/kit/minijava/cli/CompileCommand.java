@@ -8,7 +8,6 @@ import java.util.*;
 import edu.kit.minijava.ast.nodes.Program;
 import edu.kit.minijava.backend.*;
 import edu.kit.minijava.backend.Util;
-import edu.kit.minijava.lexer.Lexer;
 import edu.kit.minijava.parser.*;
 import edu.kit.minijava.semantic.*;
 import edu.kit.minijava.transformation.EntityVisitor;
@@ -29,15 +28,9 @@ public class CompileCommand extends Command {
     public int execute(String path) {
 
         try {
-            FileInputStream stream = new FileInputStream(path);
-            InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.US_ASCII);
+            Program program = this.parseFile(path);
 
-            Lexer lexer = new Lexer(reader);
-            Parser parser = new Parser(lexer);
-
-            Program program = parser.parseProgram();
-
-            new ReferenceAndExpressionTypeResolver(program);
+            this.resolveReferences(program);
 
             String asmIntermediateFilename = "a.molki.s";
             String asmOutputFileName = "a.out.s";
@@ -48,10 +41,8 @@ public class CompileCommand extends Command {
             visitor.startVisit(program);
 
             GraphGenerator generator = new GraphGenerator(visitor.getRuntimeEntities(),
-                                                          visitor.getEntities(),
+                                                          visitor.getMembers(),
                                                           visitor.getTypes(),
-                                                          visitor.getMethod2VariableNums(),
-                                                          visitor.getMethod2ParamTypes(),
                                                           this.getFlags().optimize(),
                                                           this.getFlags().dumpIntermediates(),
                                                           this.getFlags().beVerbose());
@@ -1,10 +1,16 @@
 package edu.kit.minijava.cli;
 
+import java.util.*;
+
 public class CompilerFlags {
 
     private boolean dumpIntermediates;
     private boolean optimize;
     private boolean verbose;
+    private boolean parallel = false;
+    private boolean lazyParsing = false;
+    private boolean allErrors = false;
+    private String astCacheDirectory = null; // nullable
 
     public CompilerFlags(boolean dumpIntermediates,
                          boolean optimize,
@@ -26,6 +32,38 @@ public class CompilerFlags {
         return this.verbose;
     }
 
+    public boolean runInParallel() {
+        return this.parallel;
+    }
+
+    public void setRunInParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean parseLazily() {
+        return this.lazyParsing;
+    }
+
+    public void setParseLazily(boolean lazyParsing) {
+        this.lazyParsing = lazyParsing;
+    }
+
+    public boolean reportAllErrors() {
+        return this.allErrors;
+    }
+
+    public void setReportAllErrors(boolean allErrors) {
+        this.allErrors = allErrors;
+    }
+
+    public Optional<String> getASTCacheDirectory() {
+        return Optional.ofNullable(this.astCacheDirectory);
+    }
+
+    public void setASTCacheDirectory(String astCacheDirectory) {
+        this.astCacheDirectory = astCacheDirectory;
+    }
+
     public static CompilerFlags getStandardFlags() {
         return new CompilerFlags(false, true, false);
     }
@@ -5,7 +5,6 @@ import edu.kit.minijava.parser.*;
 import edu.kit.minijava.ast.nodes.*;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 
 public class ParserCommand extends Command {
 
@@ -19,12 +18,7 @@ public class ParserCommand extends Command {
     @Override
     public int execute(String path) {
         try {
-            FileInputStream stream = new FileInputStream(path);
-            InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.US_ASCII);
-
-            Lexer lexer = new Lexer(reader);
-            Parser parser = new Parser(lexer);
-            Program program = parser.parseProgram();
+            Program program = this.parseFile(path);
 
             if (this.printAST) {
                 PrettyPrinter printer = new PrettyPrinter();
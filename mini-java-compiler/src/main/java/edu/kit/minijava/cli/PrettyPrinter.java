@@ -6,7 +6,8 @@ import java.util.*;
 
 public final class PrettyPrinter extends ASTVisitor<PrettyPrinter.Options> {
 
-    PrettyPrinter() {
+    public PrettyPrinter() {
+        super(false);
     }
 
     public enum Options {
@@ -17,7 +18,7 @@ public final class PrettyPrinter extends ASTVisitor<PrettyPrinter.Options> {
 
     // MARK: - Classes
 
-    String format(Program program) {
+    public String format(Program program) {
         this.builder.setLength(0);
 
         program.accept(this);
@@ -1,11 +1,9 @@
 package edu.kit.minijava.cli;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import edu.kit.minijava.ast.nodes.Program;
-import edu.kit.minijava.lexer.Lexer;
 import edu.kit.minijava.parser.*;
 import edu.kit.minijava.semantic.*;
 import edu.kit.minijava.transformation.EntityVisitor;
@@ -23,15 +21,9 @@ public class TransformerCommand extends Command {
     public int execute(String path) {
 
         try {
-            FileInputStream stream = new FileInputStream(path);
-            InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.US_ASCII);
+            Program program = this.parseFile(path);
 
-            Lexer lexer = new Lexer(reader);
-            Parser parser = new Parser(lexer);
-
-            Program program = parser.parseProgram();
-
-            new ReferenceAndExpressionTypeResolver(program);
+            this.resolveReferences(program);
 
             String asmOutputFilename = "a.s";
             String executableFilename = "a.out";
@@ -40,10 +32,8 @@ public class TransformerCommand extends Command {
             visitor.startVisit(program);
 
             GraphGenerator generator = new GraphGenerator(visitor.getRuntimeEntities(),
-                                                          visitor.getEntities(),
+                                                          visitor.getMembers(),
                                                           visitor.getTypes(),
-                                                          visitor.getMethod2VariableNums(),
-                                                          visitor.getMethod2ParamTypes(),
                                                           this.getFlags().optimize(),
                                                           this.getFlags().dumpIntermediates(),
                                                           this.getFlags().beVerbose());
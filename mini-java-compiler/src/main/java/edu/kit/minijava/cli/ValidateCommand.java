@@ -7,7 +7,6 @@ import edu.kit.minijava.ast.references.*;
 import edu.kit.minijava.semantic.*;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 
 public class ValidateCommand extends Command {
 
@@ -18,14 +17,9 @@ public class ValidateCommand extends Command {
     @Override
     public int execute(String path) {
         try {
-            FileInputStream stream = new FileInputStream(path);
-            InputStreamReader reader = new InputStreamReader(stream, StandardCharsets.US_ASCII);
+            Program program = this.parseFile(path, true);
 
-            Lexer lexer = new Lexer(reader);
-            Parser parser = new Parser(lexer);
-            Program program = parser.parseProgram();
-
-            new ReferenceAndExpressionTypeResolver(program);
+            this.resolveReferences(program);
 
             if (this.getFlags().dumpIntermediates()) {
                 ASTDumper dumper = new ASTDumper(program);
@@ -34,8 +28,9 @@ public class ValidateCommand extends Command {
 
             // Only print all references when it is explicitly activated
             if (this.getFlags().beVerbose()) {
+                Collector collector = new Collector(program);
 
-                for (TypeReference reference : new Collector(program).instancesOfClass(TypeReference.class)) {
+                for (TypeReference reference : collector.instancesOfClass(TypeReference.class)) {
                     if (reference.getBasicTypeReference().isResolved()) {
                         Declaration declaration = reference.getBasicTypeReference().getDeclaration();
                         System.out.println("Reference " + reference + ": " + declaration);
@@ -45,7 +40,7 @@ public class ValidateCommand extends Command {
                     }
                 }
 
-                for (Reference reference : new Collector(program).instancesOfClass(Reference.class)) {
+                for (Reference reference : collector.instancesOfClass(Reference.class)) {
                     if (reference.isResolved()) {
                         System.out.println("Reference " + reference + ": " + reference.getDeclaration());
                     }
@@ -54,7 +49,7 @@ public class ValidateCommand extends Command {
                     }
                 }
 
-                for (Expression expression : new Collector(program).instancesOfClass(Expression.class)) {
+                for (Expression expression : collector.instancesOfClass(Expression.class)) {
                     System.out.println(expression + ": " + expression.getType());
                 }
             }
@@ -66,6 +61,11 @@ public class ValidateCommand extends Command {
 
             return 1;
         }
+        catch (WrappedParserException exception) {
+            System.err.println("error: " + exception.getException().getLocalizedMessage());
+
+            return 1;
+        }
         catch (FileNotFoundException exception) {
             System.err.println("error: File '" + path + "' was not found!");
 
@@ -0,0 +1,128 @@
+package edu.kit.minijava.lexer;
+
+import java.nio.charset.*;
+
+/**
+ * Keeps the token stream of a source file up to date while the file is being edited. Instead of lexing the whole file
+ * again, an edit only re-lexes the damaged region and reuses the previous tokens as soon as the token boundaries line
+ * up again.
+ *
+ * Lexing restarts at the end of the last token that ends before the edit. Everything between that token and the edit
+ * is whitespace or part of a comment that begins after that token, so the lexer is in its initial state there. Once a
+ * new token that starts after the edit matches a previous token in start offset, type and length, the remaining input
+ * is identical to what followed the previous token, and so are the remaining tokens. This also holds for edits that
+ * open or close comments: the tokens only line up again once the comment structure does.
+ */
+public final class IncrementalLexer {
+
+    // MARK: - Initialization
+
+    public IncrementalLexer(TokenBuffer tokens) {
+        if (tokens == null) throw new IllegalArgumentException();
+
+        this.tokens = tokens;
+    }
+
+    private TokenBuffer tokens;
+    private int numberOfRelexedTokens = 0;
+
+    /** The tokens of the source file after all edits so far. */
+    public TokenBuffer getTokens() {
+        return this.tokens;
+    }
+
+    /** The number of tokens the lexer produced for the most recent edit, for diagnostic purposes. */
+    public int getNumberOfRelexedTokens() {
+        return this.numberOfRelexedTokens;
+    }
+
+    // MARK: - Editing
+
+    /**
+     * Replaces the given range of the source with the given text and returns the tokens of the resulting source. The
+     * returned buffer shares the name table of the previous buffer.
+     */
+    public TokenBuffer edit(int offset, int removedLength, String insertedText) {
+        if (insertedText == null) throw new IllegalArgumentException();
+
+        return this.edit(offset, removedLength, insertedText.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public TokenBuffer edit(int offset, int removedLength, byte[] insertedText) {
+        TokenBuffer previous = this.tokens;
+        byte[] oldSource = previous.getSource();
+
+        if (offset < 0 || removedLength < 0 || offset + removedLength > oldSource.length) {
+            throw new IllegalArgumentException();
+        }
+        if (insertedText == null) throw new IllegalArgumentException();
+
+        byte[] source = new byte[oldSource.length - removedLength + insertedText.length];
+        int editEnd = offset + insertedText.length;
+        int distance = insertedText.length - removedLength;
+
+        System.arraycopy(oldSource, 0, source, 0, offset);
+        System.arraycopy(insertedText, 0, source, offset, insertedText.length);
+        System.arraycopy(oldSource, offset + removedLength, source, editEnd, oldSource.length - offset - removedLength);
+
+        NameTable nameTable = previous.getNameTable();
+        LineIndex lines = new LineIndex(source);
+        TokenBuffer tokens = new TokenBuffer(source, nameTable, lines, TokenBuffer.estimateCapacity(source.length));
+
+        // Keep all tokens that end before the edit. Comparing strictly ensures that a token touching the edit, which
+        // might be extended by it, is lexed again.
+        int keptTokens = 0;
+
+        while (keptTokens < previous.size()
+                && previous.getStart(keptTokens) + previous.getLength(keptTokens) < offset) {
+            keptTokens += 1;
+        }
+
+        tokens.appendTokens(previous, 0, keptTokens, 0);
+
+        int restart = keptTokens > 0 ? previous.getStart(keptTokens - 1) + previous.getLength(keptTokens - 1) : 0;
+        Lexer lexer = new Lexer(source, restart, source.length, nameTable, lines);
+
+        // Index of the first previous token that might line up with newly lexed tokens. A recorded exception refers to
+        // the previous source, so in that case the remaining input is lexed again to report it at the right location.
+        int candidate = previous.getException() == null ? keptTokens : previous.size();
+
+        this.numberOfRelexedTokens = 0;
+
+        try {
+            while (lexer.lexNextToken()) {
+                tokens.appendCurrentToken(lexer);
+                this.numberOfRelexedTokens += 1;
+
+                int start = lexer.getTokenStart();
+
+                if (start < editEnd) {
+                    continue;
+                }
+
+                while (candidate < previous.size() && previous.getStart(candidate) + distance < start) {
+                    candidate += 1;
+                }
+
+                if (candidate < previous.size()
+                        && previous.getStart(candidate) + distance == start
+                        && previous.getType(candidate) == lexer.getTokenType()
+                        && previous.getLength(candidate) == lexer.getTokenLength()) {
+
+                    tokens.appendTokens(previous, candidate + 1, previous.size(), distance);
+
+                    this.tokens = tokens;
+
+                    return tokens;
+                }
+            }
+        }
+        catch (LexerException exception) {
+            tokens.setException(exception);
+        }
+
+        this.tokens = tokens;
+
+        return tokens;
+    }
+}
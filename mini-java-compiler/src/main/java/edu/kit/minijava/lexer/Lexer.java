@@ -1,6 +1,9 @@
 package edu.kit.minijava.lexer;
 
 import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
 import java.util.*;
 import java.util.function.*;
 
@@ -9,73 +12,169 @@ public class Lexer {
     // MARK: - Initialization
 
     public Lexer(InputStreamReader reader) throws IOException {
-        this.reader = new BufferedReader(reader);
-        this.currentCharacter = this.reader.read();
+        this(readFully(reader));
     }
 
-    // MARK: - State
-
-    private final BufferedReader reader;
-    private int currentCharacter;
+    /**
+     * Creates a lexer that scans the given buffer directly. MiniJava input is US-ASCII, so every byte corresponds to
+     * exactly one character. Bytes outside the ASCII range are treated like the replacement character produced when
+     * decoding with {@link java.nio.charset.StandardCharsets#US_ASCII}.
+     */
+    public Lexer(byte[] input) {
+        this(input, new NameTable());
+    }
 
-    private int currentRow = 0;
-    private int currentColumn = 0;
-    private boolean lastCharacterWasCarriageReturn = false;
+    /**
+     * Creates a lexer that registers the names it encounters in the given name table. Identifier tokens carry the
+     * dense IDs handed out by that table.
+     */
+    public Lexer(byte[] input, NameTable nameTable) {
+        this(input, 0, input != null ? input.length : 0, nameTable, new LineIndex(input));
+    }
 
-    private boolean hasReachedEndOfInput() {
-        return this.currentCharacter == -1;
+    /// Creates a lexer that only scans the given range of the input. Used to lex chunks of a file in parallel.
+    Lexer(byte[] input, int start, int end, NameTable nameTable, LineIndex lines) {
+        if (input == null) throw new IllegalArgumentException();
+        if (start < 0 || start > end || end > input.length) throw new IllegalArgumentException();
+        if (nameTable == null) throw new IllegalArgumentException();
+        if (lines == null) throw new IllegalArgumentException();
+
+        this.input = input;
+        this.limit = end;
+        this.nameTable = nameTable;
+        this.lines = lines;
+        this.position = start;
     }
 
-    private char getCurrentCharacter() {
-        return (char)this.currentCharacter;
+    /**
+     * Creates a lexer for the file at the given path. The whole file is read into a single buffer using NIO instead of
+     * being decoded character by character.
+     */
+    public static Lexer fromFile(String path) throws IOException {
+        return new Lexer(readFile(path));
     }
 
-    private char advance() throws IOException {
-        if (this.hasReachedEndOfInput()) {
-            throw new IllegalStateException();
+    /** Reads the contents of the file at the given path into a single buffer. */
+    public static byte[] readFile(String path) throws IOException {
+        try (FileInputStream stream = new FileInputStream(path)) {
+            return readFully(stream.getChannel());
         }
+    }
 
-        char character = this.getCurrentCharacter();
+    private static byte[] readFully(FileChannel channel) throws IOException {
+        long size = channel.size();
 
-        if (character == '\r') {
-            this.currentRow += 1;
-            this.currentColumn = 0;
-            this.lastCharacterWasCarriageReturn = true;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("File too large");
         }
-        else if (character == '\n') {
-            if (!this.lastCharacterWasCarriageReturn) {
-                this.currentRow += 1;
-                this.currentColumn = 0;
-                this.lastCharacterWasCarriageReturn = false;
+
+        byte[] bytes = new byte[(int)size];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                break;
             }
         }
+
+        if (buffer.hasRemaining()) {
+            return Arrays.copyOf(bytes, buffer.position());
+        }
         else {
-            this.currentColumn += 1;
-            this.lastCharacterWasCarriageReturn = false;
+            return bytes;
         }
+    }
 
-        this.currentCharacter = this.reader.read();
+    private static byte[] readFully(Reader reader) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        char[] chunk = new char[8192];
+        int count = reader.read(chunk);
 
-        return character;
+        while (count != -1) {
+            for (int index = 0; index < count; index += 1) {
+                char character = chunk[index];
+                stream.write(character < 0x80 ? character : NON_ASCII_CHARACTER);
+            }
+
+            count = reader.read(chunk);
+        }
+
+        return stream.toByteArray();
     }
 
-    private String advanceWhile(BooleanSupplier predicate) throws IOException {
-        StringBuilder buffer = new StringBuilder();
+    // MARK: - State
+
+    /** Stands in for any character outside the ASCII range. */
+    private static final int NON_ASCII_CHARACTER = 0xFF;
 
-        while (!this.hasReachedEndOfInput() && predicate.getAsBoolean()) {
-            buffer.append(this.advance());
+    /** Returned when peeking past the end of the input. Never matches any character class. */
+    private static final char END_OF_INPUT = (char)-1;
+
+    private final byte[] input;
+    private final int limit;
+    private final NameTable nameTable;
+    private final LineIndex lines;
+    private int position;
+
+    public NameTable getNameTable() {
+        return this.nameTable;
+    }
+
+    /** Resolves the offsets stored in the locations of the tokens of this lexer. */
+    public LineIndex getLineIndex() {
+        return this.lines;
+    }
+
+    private boolean hasReachedEndOfInput() {
+        return this.position >= this.limit;
+    }
+
+    private char getCurrentCharacter() {
+        if (this.hasReachedEndOfInput()) {
+            return END_OF_INPUT;
         }
 
-        return buffer.toString();
+        return (char)(this.input[this.position] & 0xFF);
     }
 
+    private char advance() {
+        if (this.hasReachedEndOfInput()) {
+            throw new IllegalStateException();
+        }
 
-    private void skipWhile(BooleanSupplier predicate) throws IOException {
+        char character = this.getCurrentCharacter();
+
+        this.position += 1;
+
+        return character;
+    }
+
+    private void skipWhile(BooleanSupplier predicate) {
         while (!this.hasReachedEndOfInput() && predicate.getAsBoolean()) {
             this.advance();
         }
     }
 
+    /// Whitespace and comments make up a large part of typical input, so they are skipped using tight loops over the
+    /// buffer instead of going through skipWhile.
+    private void skipWhitespace() {
+        byte[] input = this.input;
+        int limit = this.limit;
+        int position = this.position;
+
+        while (position < limit) {
+            byte character = input[position];
+
+            if (character != ' ' && character != '\n' && character != '\r' && character != '\t') {
+                break;
+            }
+
+            position += 1;
+        }
+
+        this.position = position;
+    }
+
     // MARK: - Helpers
 
     private static BitSet buildBitSet(String characters) {
@@ -110,20 +209,6 @@ public class Lexer {
         return ALPHANUMERIC_BITSET.get(character);
     }
 
-    private boolean isCurrentCharacterWhitespace() {
-        if (this.hasReachedEndOfInput()) return false;
-
-        switch (this.getCurrentCharacter()) {
-            case ' ':
-            case '\t':
-            case '\r':
-            case '\n':
-                return true;
-            default:
-                return false;
-        }
-    }
-
     private boolean isCurrentCharacterSeparator() {
         if (this.hasReachedEndOfInput()) return false;
 
@@ -141,152 +226,207 @@ public class Lexer {
     // MARK: - Fetching Tokens
 
     public Token nextToken() throws IOException, LexerException {
+        if (!this.lexNextToken()) {
+            return null;
+        }
+
+        TokenLocation location = new TokenLocation(this.lines, this.tokenStart);
+
+        switch (this.tokenType) {
+            case IDENTIFIER:
+                return new Token(this.tokenType, this.nameTable.getName(this.tokenNameID), this.tokenNameID, location);
+            case INTEGER_LITERAL:
+                return new Token(this.tokenType, this.input, this.tokenStart, this.tokenLength, location);
+            default:
+                if (isKeyword(this.tokenType)) {
+                    String name = KEYWORD_SPELLINGS[this.tokenType.ordinal()];
+
+                    return new Token(this.tokenType, name, NameTable.NO_ID, location);
+                }
+                else {
+                    return new Token(this.tokenType, this.input, this.tokenStart, this.tokenLength, location);
+                }
+        }
+    }
+
+    /// Properties of the most recently lexed token. Valid after lexNextToken returned true.
+    private TokenType tokenType;
+    private int tokenStart;
+    private int tokenLength;
+    private int tokenNameID;
+
+    /**
+     * Lexes the next token without allocating a {@link Token}. Its properties can be queried using the getters below.
+     * Returns false if the end of the input has been reached.
+     */
+    boolean lexNextToken() throws LexerException {
         this.ensureNoPreviousExceptionsWereThrown();
 
-        Token token = this.nextNullableToken();
+        while (true) {
+            this.skipWhitespace();
 
-        while (token == null && !this.hasReachedEndOfInput()) {
-            token = this.nextNullableToken();
+            if (this.hasReachedEndOfInput()) {
+                return false;
+            }
+
+            if (this.lexNullableToken()) {
+                return true;
+            }
         }
+    }
 
-        return token;
+    TokenType getTokenType() {
+        return this.tokenType;
     }
 
-    private Token nextNullableToken() throws IOException, LexerException {
-        this.skipWhile(this::isCurrentCharacterWhitespace);
+    int getTokenStart() {
+        return this.tokenStart;
+    }
 
-        if (this.hasReachedEndOfInput()) {
-            return null;
-        }
+    int getTokenLength() {
+        return this.tokenLength;
+    }
 
-        TokenLocation location = new TokenLocation(this.currentRow, this.currentColumn);
+    /// The name table ID of an identifier token, NameTable.NO_ID otherwise.
+    int getTokenNameID() {
+        return this.tokenNameID;
+    }
+
+    byte[] getInput() {
+        return this.input;
+    }
+
+    /// The number of bytes of the lexer's range that have not been lexed yet.
+    int getRemainingLength() {
+        return this.limit - this.position;
+    }
+
+    /// Returns false if only a comment was skipped.
+    private boolean lexNullableToken() throws LexerException {
+        int start = this.position;
+        TokenType type;
+        int nameID = NameTable.NO_ID;
 
         if (this.isCurrentCharacterNumeric()) {
             if (this.getCurrentCharacter() == '0') {
-                String text = String.valueOf(this.advance());
-
-                return new Token(TokenType.INTEGER_LITERAL, text, location);
+                this.advance();
             }
             else {
-                String text = this.advanceWhile(this::isCurrentCharacterNumeric);
-
-                return new Token(TokenType.INTEGER_LITERAL, text, location);
+                this.skipWhile(this::isCurrentCharacterNumeric);
             }
+
+            type = TokenType.INTEGER_LITERAL;
         }
         else if (this.isCurrentCharacterAlphanumeric()) {
-            String text = this.advanceWhile(this::isCurrentCharacterAlphanumeric);
-            TokenType type = this.keywordFromString(text);
+            this.skipWhile(this::isCurrentCharacterAlphanumeric);
 
-            if (type != null) {
-                return new Token(type, text, location);
-            }
-            else {
-                return new Token(TokenType.IDENTIFIER, text, location);
+            type = keywordFromRange(this.input, start, this.position - start);
+
+            if (type == null) {
+                type = TokenType.IDENTIFIER;
+                nameID = this.nameTable.getID(this.input, start, this.position - start);
             }
         }
         else if (this.isCurrentCharacterSeparator()) {
-            String text = String.valueOf(this.advance());
-            TokenType separator = this.separatorFromString(text);
+            char character = this.advance();
+            type = this.separatorFromCharacter(character);
 
-            if (separator != null) {
-                return new Token(separator, text, location);
-            }
-            else {
-                throw this.fail("Invalid separator '" + text + "'");
+            if (type == null) {
+                throw this.fail("Invalid separator '" + character + "'");
             }
         }
         else if (this.isCurrentCharacterOperatorSymbol()) {
+            type = this.lexOperator();
 
-            String operator = this.lexOperator();
-
-            if (operator == null) {
-                return null;
-            }
-
-            TokenType operatorType = this.operatorFromString(operator);
-            if (operatorType == null) {
-                throw this.fail("Invalid operator  '" + operator + "'");
+            if (type == null) {
+                return false;
             }
-
-            return new Token(operatorType, operator, location);
         }
         else {
-            String name = Character.getName(this.getCurrentCharacter());
+            char character = this.getCurrentCharacter();
+            String name = character < 0x80 ? Character.getName(character) : "REPLACEMENT CHARACTER";
 
             throw this.fail("Forbidden character '" + name + "' in input");
         }
+
+        this.tokenType = type;
+        this.tokenStart = start;
+        this.tokenLength = this.position - start;
+        this.tokenNameID = nameID;
+
+        return true;
     }
 
-    private String lexOperator() throws IOException, LexerException {
+    private TokenType lexOperator() throws LexerException {
         char operatorStart = this.advance();
 
         switch (operatorStart) {
             case '=':
                 switch (this.getCurrentCharacter()) {
-                    case '=':this.advance(); return "==";
-                    default: return "=";
+                    case '=':this.advance(); return TokenType.EQUAL_TO;
+                    default: return TokenType.ASSIGN;
                 }
 
             case '!':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "!=";
-                    default: return "!";
+                    case '=': this.advance(); return TokenType.NOT_EQUAL_TO;
+                    default: return TokenType.LOGICAL_NEGATION;
                 }
 
             case '<':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "<=";
+                    case '=': this.advance(); return TokenType.LESS_THAN_OR_EQUAL_TO;
                     case '<':
                         this.advance();
                         switch (this.getCurrentCharacter()) {
-                            case '=': this.advance(); return "<<=";
-                            default: return "<<";
+                            case '=': this.advance(); return TokenType.SHIFT_LEFT_AND_ASSIGN;
+                            default: return TokenType.SHIFT_LEFT;
                         }
-                    default: return "<";
+                    default: return TokenType.LESS_THAN;
                 }
 
             case '>':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return ">=";
+                    case '=': this.advance(); return TokenType.GREATER_THAN_OR_EQUAL_TO;
                     case '>':
                         this.advance();
                         switch (this.getCurrentCharacter()) {
-                            case '=': this.advance(); return ">>=";
+                            case '=': this.advance(); return TokenType.SHIFT_RIGHT_AND_ASSIGN;
                             case '>':
                                 this.advance();
                                 switch (this.getCurrentCharacter()) {
-                                    case '=': this.advance(); return ">>>=";
-                                    default: return ">>>";
+                                    case '=': this.advance(); return TokenType.UNSIGNED_SHIFT_RIGHT_AND_ASSIGN;
+                                    default: return TokenType.UNSIGNED_SHIFT_RIGHT;
                                 }
-                            default: return ">>";
+                            default: return TokenType.SHIFT_RIGHT;
                         }
-                    default: return ">";
+                    default: return TokenType.GREATER_THAN;
                 }
 
             case '+':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "+=";
-                    case '+': this.advance(); return "++";
-                    default: return "+";
+                    case '=': this.advance(); return TokenType.PLUS_AND_ASSIGN;
+                    case '+': this.advance(); return TokenType.INCREASE;
+                    default: return TokenType.PLUS;
                 }
 
             case '-':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "-=";
-                    case '-': this.advance(); return "--";
-                    default: return "-";
+                    case '=': this.advance(); return TokenType.MINUS_AND_ASSIGN;
+                    case '-': this.advance(); return TokenType.DECREASE;
+                    default: return TokenType.MINUS;
                 }
 
             case '*':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "*=";
-                    default: return "*";
+                    case '=': this.advance(); return TokenType.MULTIPLY_AND_ASSIGN;
+                    default: return TokenType.MULTIPLY;
 
                 }
 
             case '/':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "/=";
+                    case '=': this.advance(); return TokenType.DIVIDE_AND_ASSIGN;
                     case '*':
                         // Skip second start symbol for start of comment sequence
                         this.advance();
@@ -295,37 +435,37 @@ public class Lexer {
                         // Skip to the next token
                         return null;
 
-                    default: return "/";
+                    default: return TokenType.DIVIDE;
                 }
 
             case '%':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "%=";
-                    default: return "%";
+                    case '=': this.advance(); return TokenType.MODULO_AND_ASSIGN;
+                    default: return TokenType.MODULO;
                 }
 
             case '|':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "|=";
-                    case '|': this.advance(); return "||";
-                    default: return "|";
+                    case '=': this.advance(); return TokenType.BITWISE_OR_AND_ASSIGN;
+                    case '|': this.advance(); return TokenType.LOGICAL_OR;
+                    default: return TokenType.BITWISE_OR;
                 }
 
-            case '?': return "?";
-            case ':': return ":";
-            case '~': return "~";
+            case '?': return TokenType.QUESTION_MARK;
+            case ':': return TokenType.COLON;
+            case '~': return TokenType.BITWISE_NOT;
 
             case '&':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "&=";
-                    case '&': this.advance(); return "&&";
-                    default: return "&";
+                    case '=': this.advance(); return TokenType.BITWISE_AND_AND_ASSIGN;
+                    case '&': this.advance(); return TokenType.LOGICAL_AND;
+                    default: return TokenType.BITWISE_AND;
                 }
 
             case '^':
                 switch (this.getCurrentCharacter()) {
-                    case '=': this.advance(); return "^=";
-                    default: return "^";
+                    case '=': this.advance(); return TokenType.BITWISE_XOR_AND_ASSIGN;
+                    default: return TokenType.BITWISE_XOR;
 
                 }
 
@@ -334,20 +474,22 @@ public class Lexer {
 
     }
 
-    private void lexComment() throws IOException, LexerException {
-        boolean readEndOfCommentPrefix = false;
+    private void lexComment() throws LexerException {
+        byte[] input = this.input;
+        int limit = this.limit;
+        int start = this.position;
 
-        while (!this.hasReachedEndOfInput()) {
-            char character = this.advance();
-
-            if (character == '/' && readEndOfCommentPrefix) {
+        // Look for slashes rather than asterisks, which are common in decorated comments. The asterisk of the opening
+        // sequence has already been consumed and may not be part of the closing sequence.
+        for (int position = start; position < limit; position += 1) {
+            if (input[position] == '/' && position > start && input[position - 1] == '*') {
+                this.position = position + 1;
                 return;
             }
-            else {
-                readEndOfCommentPrefix = (character == '*');
-            }
         }
+
         // We read all the way to the end of the input without finding the end of comment sequence
+        this.position = limit;
         throw this.fail("Encountered unterminated comment");
     }
 
@@ -371,119 +513,79 @@ public class Lexer {
 
     // MARK: - Token Type Helpers
 
-    private TokenType keywordFromString(String string) {
-        switch (string) {
-            case "abstract": return TokenType.ABSTRACT;
-            case "assert": return TokenType.ASSERT;
-            case "boolean": return TokenType.BOOLEAN;
-            case "break": return TokenType.BREAK;
-            case "byte": return TokenType.BYTE;
-            case "case": return TokenType.CASE;
-            case "catch": return TokenType.CATCH;
-            case "char": return TokenType.CHAR;
-            case "class": return TokenType.CLASS;
-            case "const": return TokenType.CONST;
-            case "continue": return TokenType.CONTINUE;
-            case "default": return TokenType.DEFAULT;
-            case "double": return TokenType.DOUBLE;
-            case "do": return TokenType.DO;
-            case "else": return TokenType.ELSE;
-            case "enum": return TokenType.ENUM;
-            case "extends": return TokenType.EXTENDS;
-            case "false": return TokenType.FALSE;
-            case "finally": return TokenType.FINALLY;
-            case "final": return TokenType.FINAL;
-            case "float": return TokenType.FLOAT;
-            case "for": return TokenType.FOR;
-            case "goto": return TokenType.GOTO;
-            case "if": return TokenType.IF;
-            case "implements": return TokenType.IMPLEMENTS;
-            case "import": return TokenType.IMPORT;
-            case "instanceof": return TokenType.INSTANCEOF;
-            case "interface": return TokenType.INTERFACE;
-            case "int": return TokenType.INT;
-            case "long": return TokenType.LONG;
-            case "native": return TokenType.NATIVE;
-            case "new": return TokenType.NEW;
-            case "null": return TokenType.NULL;
-            case "package": return TokenType.PACKAGE;
-            case "private": return TokenType.PRIVATE;
-            case "protected": return TokenType.PROTECTED;
-            case "public": return TokenType.PUBLIC;
-            case "return": return TokenType.RETURN;
-            case "short": return TokenType.SHORT;
-            case "static": return TokenType.STATIC;
-            case "strictfp": return TokenType.STRICTFP;
-            case "super": return TokenType.SUPER;
-            case "switch": return TokenType.SWITCH;
-            case "synchronized": return TokenType.SYNCHRONIZED;
-            case "this": return TokenType.THIS;
-            case "throws": return TokenType.THROWS;
-            case "throw": return TokenType.THROW;
-            case "transient": return TokenType.TRANSIENT;
-            case "true": return TokenType.TRUE;
-            case "try": return TokenType.TRY;
-            case "void": return TokenType.VOID;
-            case "volatile": return TokenType.VOLATILE;
-            case "while": return TokenType.WHILE;
-            default: return null;
+    /// Keywords are recognized using a perfect hash over their length and their first, second and last characters.
+    /// The keywords are the leading constants of TokenType, and their spellings are the lowercase constant names.
+    private static final int KEYWORD_HASH_TABLE_SIZE = 128;
+    private static final int MINIMUM_KEYWORD_LENGTH = 2;
+    private static final int MAXIMUM_KEYWORD_LENGTH = 12;
+
+    private static final String[] KEYWORD_SPELLINGS = new String[TokenType.WHILE.ordinal() + 1];
+    private static final byte[][] KEYWORD_HASH_TABLE_SPELLINGS = new byte[KEYWORD_HASH_TABLE_SIZE][];
+    private static final TokenType[] KEYWORD_HASH_TABLE_TYPES = new TokenType[KEYWORD_HASH_TABLE_SIZE];
+
+    static {
+        TokenType[] types = TokenType.values();
+
+        for (int index = 0; index < KEYWORD_SPELLINGS.length; index += 1) {
+            String spelling = types[index].name().toLowerCase(Locale.ROOT);
+            byte[] bytes = spelling.getBytes(StandardCharsets.US_ASCII);
+            int hash = keywordHash(bytes, 0, bytes.length);
+
+            if (KEYWORD_HASH_TABLE_SPELLINGS[hash] != null) {
+                throw new AssertionError("Keyword hash is not perfect");
+            }
+
+            KEYWORD_SPELLINGS[index] = spelling;
+            KEYWORD_HASH_TABLE_SPELLINGS[hash] = bytes;
+            KEYWORD_HASH_TABLE_TYPES[hash] = types[index];
         }
     }
 
-    private TokenType operatorFromString(String string) {
-        switch (string) {
-            case "!=": return TokenType.NOT_EQUAL_TO;
-            case "!": return TokenType.LOGICAL_NEGATION;
-            case "*=": return TokenType.MULTIPLY_AND_ASSIGN;
-            case "*": return TokenType.MULTIPLY;
-            case "++": return TokenType.INCREASE;
-            case "+=": return TokenType.PLUS_AND_ASSIGN;
-            case "+": return TokenType.PLUS;
-            case "-=": return TokenType.MINUS_AND_ASSIGN;
-            case "--": return TokenType.DECREASE;
-            case "-": return TokenType.MINUS;
-            case "/=": return TokenType.DIVIDE_AND_ASSIGN;
-            case "/": return TokenType.DIVIDE;
-            case ":": return TokenType.COLON;
-            case "<<=": return TokenType.SHIFT_LEFT_AND_ASSIGN;
-            case "<<": return TokenType.SHIFT_LEFT;
-            case "<=": return TokenType.LESS_THAN_OR_EQUAL_TO;
-            case "<": return TokenType.LESS_THAN;
-            case "==": return TokenType.EQUAL_TO;
-            case "=": return TokenType.ASSIGN;
-            case ">=": return TokenType.GREATER_THAN_OR_EQUAL_TO;
-            case ">>=": return TokenType.SHIFT_RIGHT_AND_ASSIGN;
-            case ">>>=": return TokenType.UNSIGNED_SHIFT_RIGHT_AND_ASSIGN;
-            case ">>>": return TokenType.UNSIGNED_SHIFT_RIGHT;
-            case ">>": return TokenType.SHIFT_RIGHT;
-            case ">": return TokenType.GREATER_THAN;
-            case "?": return TokenType.QUESTION_MARK;
-            case "%=": return TokenType.MODULO_AND_ASSIGN;
-            case "%": return TokenType.MODULO;
-            case "&=": return TokenType.BITWISE_AND_AND_ASSIGN;
-            case "&&": return TokenType.LOGICAL_AND;
-            case "&": return TokenType.BITWISE_AND;
-            case "^=": return TokenType.BITWISE_XOR_AND_ASSIGN;
-            case "^": return TokenType.BITWISE_XOR;
-            case "~": return TokenType.BITWISE_NOT;
-            case "|=": return TokenType.BITWISE_OR_AND_ASSIGN;
-            case "||": return TokenType.LOGICAL_OR;
-            case "|": return TokenType.BITWISE_OR;
-            default: return null;
+    private static int keywordHash(byte[] input, int start, int length) {
+        int first = input[start];
+        int second = input[start + 1];
+        int last = input[start + length - 1];
+
+        return (2 * length + 32 * first + 16 * second + 35 * last) & (KEYWORD_HASH_TABLE_SIZE - 1);
+    }
+
+    /** Returns the keyword spelled by the given range of the input, or null if the range does not spell a keyword. */
+    static TokenType keywordFromRange(byte[] input, int start, int length) {
+        if (length < MINIMUM_KEYWORD_LENGTH || length > MAXIMUM_KEYWORD_LENGTH) {
+            return null;
+        }
+
+        int hash = keywordHash(input, start, length);
+        byte[] spelling = KEYWORD_HASH_TABLE_SPELLINGS[hash];
+
+        if (spelling == null || spelling.length != length) {
+            return null;
+        }
+
+        for (int index = 0; index < length; index += 1) {
+            if (spelling[index] != input[start + index]) {
+                return null;
+            }
         }
+
+        return KEYWORD_HASH_TABLE_TYPES[hash];
+    }
+
+    static boolean isKeyword(TokenType type) {
+        return type.ordinal() < KEYWORD_SPELLINGS.length;
     }
 
-    private TokenType separatorFromString(String string) {
-        switch (string) {
-            case "(": return TokenType.OPENING_PARENTHESIS;
-            case ")": return TokenType.CLOSING_PARENTHESIS;
-            case "{": return TokenType.OPENING_BRACE;
-            case "}": return TokenType.CLOSING_BRACE;
-            case "[": return TokenType.OPENING_BRACKET;
-            case "]": return TokenType.CLOSING_BRACKET;
-            case ";": return TokenType.SEMICOLON;
-            case ",": return TokenType.COMMA;
-            case ".": return TokenType.PERIOD;
+    private TokenType separatorFromCharacter(char character) {
+        switch (character) {
+            case '(': return TokenType.OPENING_PARENTHESIS;
+            case ')': return TokenType.CLOSING_PARENTHESIS;
+            case '{': return TokenType.OPENING_BRACE;
+            case '}': return TokenType.CLOSING_BRACE;
+            case '[': return TokenType.OPENING_BRACKET;
+            case ']': return TokenType.CLOSING_BRACKET;
+            case ';': return TokenType.SEMICOLON;
+            case ',': return TokenType.COMMA;
+            case '.': return TokenType.PERIOD;
             default: return null;
         }
     }
@@ -0,0 +1,73 @@
+package edu.kit.minijava.lexer;
+
+import java.util.*;
+
+/**
+ * Maps offsets in a source buffer to rows and columns. The offsets at which lines start are collected in a single
+ * pass the first time a location is resolved, so files whose locations are never queried do not pay for it.
+ *
+ * Lines are terminated by "\r\n", "\r" or "\n".
+ */
+public final class LineIndex {
+    public LineIndex(byte[] input) {
+        if (input == null) throw new IllegalArgumentException();
+
+        this.input = input;
+    }
+
+    private final byte[] input;
+
+    /// Built on demand. Building is idempotent, so a racing thread at worst builds the index twice.
+    private volatile int[] lineStarts = null;
+
+    public int getRow(int offset) {
+        int[] lineStarts = this.getLineStarts();
+        int row = Arrays.binarySearch(lineStarts, offset);
+
+        // For offsets within a line, binarySearch returns -(insertion point) - 1.
+        if (row < 0) {
+            row = -row - 2;
+        }
+
+        return row;
+    }
+
+    public int getColumn(int offset) {
+        return offset - this.getLineStarts()[this.getRow(offset)];
+    }
+
+    private int[] getLineStarts() {
+        int[] lineStarts = this.lineStarts;
+
+        if (lineStarts == null) {
+            lineStarts = this.buildLineStarts();
+            this.lineStarts = lineStarts;
+        }
+
+        return lineStarts;
+    }
+
+    private int[] buildLineStarts() {
+        int[] lineStarts = new int[64];
+        int count = 1;
+
+        for (int index = 0; index < this.input.length; index += 1) {
+            byte character = this.input[index];
+
+            if (character == '\r' || character == '\n') {
+                if (character == '\r' && index + 1 < this.input.length && this.input[index + 1] == '\n') {
+                    index += 1;
+                }
+
+                if (count == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, 2 * count);
+                }
+
+                lineStarts[count] = index + 1;
+                count += 1;
+            }
+        }
+
+        return Arrays.copyOf(lineStarts, count);
+    }
+}
@@ -0,0 +1,160 @@
+package edu.kit.minijava.lexer;
+
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * A compiler-local symbol table that assigns dense integer IDs to the distinct names in a program. Each distinct
+ * spelling is converted to a String exactly once, so the text of all tokens with the same spelling is shared and names
+ * can be compared by ID instead of by content.
+ */
+public final class NameTable {
+
+    /** Used by nodes whose name did not originate from a name table. */
+    public static final int NO_ID = -1;
+
+    // MARK: - State
+
+    /// Open addressing hash table. Each slot holds an ID plus one, or zero if the slot is empty.
+    private int[] slots = new int[256];
+
+    private String[] names = new String[128];
+    private int[] hashes = new int[128];
+    private int count = 0;
+
+    // MARK: - Lookup
+
+    /** The number of distinct names registered so far. */
+    public int size() {
+        return this.count;
+    }
+
+    public String getName(int id) {
+        if (id < 0 || id >= this.count) throw new IllegalArgumentException();
+
+        return this.names[id];
+    }
+
+    /** Returns the ID of the given name, registering the name if it has not been seen before. */
+    public int getID(String name) {
+        if (name == null) throw new IllegalArgumentException();
+
+        // String.hashCode matches hash(byte[], int, int) for ASCII input.
+        int hash = name.hashCode();
+        int mask = this.slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = this.slots[slot];
+
+            if (entry == 0) {
+                return this.insert(name, hash, slot);
+            }
+            else if (this.hashes[entry - 1] == hash && this.names[entry - 1].equals(name)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /** Returns the ID of the given name, or {@link #NO_ID} if it has not been registered. Never modifies the table. */
+    public int findID(String name) {
+        if (name == null) throw new IllegalArgumentException();
+
+        int hash = name.hashCode();
+        int mask = this.slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = this.slots[slot];
+
+            if (entry == 0) {
+                return NO_ID;
+            }
+            else if (this.hashes[entry - 1] == hash && this.names[entry - 1].equals(name)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the name spelled by the given range of ASCII bytes, registering the name if it has not been
+     * seen before. No String is created unless the name is new.
+     */
+    public int getID(byte[] source, int offset, int length) {
+        int hash = hash(source, offset, length);
+        int mask = this.slots.length - 1;
+
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = this.slots[slot];
+
+            if (entry == 0) {
+                return this.insert(new String(source, offset, length, StandardCharsets.US_ASCII), hash, slot);
+            }
+            else if (this.hashes[entry - 1] == hash && matches(this.names[entry - 1], source, offset, length)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    // MARK: - Helpers
+
+    private static int hash(byte[] source, int offset, int length) {
+        int hash = 0;
+
+        for (int index = offset; index < offset + length; index += 1) {
+            hash = 31 * hash + (source[index] & 0xFF);
+        }
+
+        return hash;
+    }
+
+    private static boolean matches(String name, byte[] source, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+
+        for (int index = 0; index < length; index += 1) {
+            if (name.charAt(index) != (source[offset + index] & 0xFF)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int insert(String name, int hash, int slot) {
+        int id = this.count;
+
+        if (id == this.names.length) {
+            this.names = Arrays.copyOf(this.names, 2 * id);
+            this.hashes = Arrays.copyOf(this.hashes, 2 * id);
+        }
+
+        this.names[id] = name;
+        this.hashes[id] = hash;
+        this.slots[slot] = id + 1;
+        this.count += 1;
+
+        // Keep the load factor at or below one half.
+        if (2 * this.count > this.slots.length) {
+            this.rehash();
+        }
+
+        return id;
+    }
+
+    private void rehash() {
+        int[] slots = new int[2 * this.slots.length];
+        int mask = slots.length - 1;
+
+        for (int id = 0; id < this.count; id += 1) {
+            int slot = this.hashes[id] & mask;
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = id + 1;
+        }
+
+        this.slots = slots;
+    }
+}
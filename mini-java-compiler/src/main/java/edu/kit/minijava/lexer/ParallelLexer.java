@@ -0,0 +1,130 @@
+package edu.kit.minijava.lexer;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Lexes large inputs by splitting them into chunks that are lexed concurrently and stitched back together. The result
+ * is identical to lexing the input sequentially, including the tokens preceding a lexer error.
+ *
+ * Chunks are only split at whitespace outside of comments, which can never be part of a token. A cheap prescan finds
+ * such positions: outside of comments, a slash is always the first character of an operator, so every slash followed
+ * by an asterisk starts a comment, which ends at the next asterisk followed by a slash.
+ */
+public final class ParallelLexer {
+
+    // MARK: - Initialization
+
+    public ParallelLexer(byte[] input) {
+        this(input, new NameTable());
+    }
+
+    public ParallelLexer(byte[] input, NameTable nameTable) {
+        if (input == null) throw new IllegalArgumentException();
+        if (nameTable == null) throw new IllegalArgumentException();
+
+        this.input = input;
+        this.nameTable = nameTable;
+    }
+
+    /// Inputs are not split into chunks smaller than this, as the overhead would outweigh the gain.
+    static final int MINIMUM_CHUNK_SIZE = 1 << 18;
+
+    private final byte[] input;
+    private final NameTable nameTable;
+
+    // MARK: - Lexing
+
+    /** Lexes the input using the common pool. */
+    public TokenBuffer lex() {
+        return this.lex(ForkJoinPool.commonPool());
+    }
+
+    /** Lexes the input on the given pool, using one chunk per worker thread. */
+    public TokenBuffer lex(ForkJoinPool pool) {
+        int numberOfChunks = Math.min(pool.getParallelism(), this.input.length / MINIMUM_CHUNK_SIZE);
+
+        return this.lex(pool, numberOfChunks);
+    }
+
+    public TokenBuffer lex(ForkJoinPool pool, int numberOfChunks) {
+        if (pool == null) throw new IllegalArgumentException();
+
+        LineIndex lines = new LineIndex(this.input);
+        int[] boundaries = this.findChunkBoundaries(numberOfChunks);
+
+        if (boundaries.length == 2) {
+            return new TokenBuffer(new Lexer(this.input, 0, this.input.length, this.nameTable, lines));
+        }
+
+        List<Callable<TokenBuffer>> tasks = new ArrayList<>();
+
+        for (int index = 0; index < boundaries.length - 1; index += 1) {
+            int start = boundaries[index];
+            int end = boundaries[index + 1];
+
+            tasks.add(() -> new TokenBuffer(new Lexer(this.input, start, end, new NameTable(), lines)));
+        }
+
+        List<TokenBuffer> chunks = new ArrayList<>();
+
+        for (Future<TokenBuffer> future : pool.invokeAll(tasks)) {
+            try {
+                chunks.add(future.get());
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(exception);
+            }
+            catch (ExecutionException exception) {
+                throw new IllegalStateException(exception.getCause());
+            }
+        }
+
+        return new TokenBuffer(chunks, this.nameTable);
+    }
+
+    // MARK: - Prescan
+
+    /**
+     * Returns the offsets at which the input is split, including 0 and the length of the input. There are at most
+     * numberOfChunks + 1 boundaries, fewer if there are not enough whitespace characters outside of comments.
+     */
+    int[] findChunkBoundaries(int numberOfChunks) {
+        int length = this.input.length;
+        int[] boundaries = new int[Math.max(numberOfChunks, 1) + 1];
+        int count = 1;
+
+        // Boundaries are placed at the first safe position after each target.
+        int nextTarget = length / Math.max(numberOfChunks, 1);
+        boolean isInComment = false;
+
+        for (int index = 0; index < length && count < boundaries.length - 1; index += 1) {
+            byte character = this.input[index];
+
+            if (isInComment) {
+                if (character == '*' && index + 1 < length && this.input[index + 1] == '/') {
+                    isInComment = false;
+                    index += 1;
+                }
+            }
+            else if (character == '/' && index + 1 < length && this.input[index + 1] == '*') {
+                isInComment = true;
+                index += 1;
+            }
+            else if (index >= nextTarget && isWhitespace(character)) {
+                boundaries[count] = index;
+                count += 1;
+                nextTarget = (int)((long)length * count / numberOfChunks);
+            }
+        }
+
+        boundaries[count] = length;
+
+        return Arrays.copyOf(boundaries, count + 1);
+    }
+
+    private static boolean isWhitespace(byte character) {
+        return character == ' ' || character == '\t' || character == '\r' || character == '\n';
+    }
+}
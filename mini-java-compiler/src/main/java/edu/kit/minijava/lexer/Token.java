@@ -1,5 +1,7 @@
 package edu.kit.minijava.lexer;
 
+import java.nio.charset.*;
+
 public class Token {
     public Token(TokenType type, String text, TokenLocation location) {
         if (type == null) throw new IllegalArgumentException();
@@ -8,12 +10,57 @@ public class Token {
         if (location == null) throw new IllegalArgumentException();
 
         this.type = type;
-        this.text = text.intern();
+        this.text = text;
+        this.source = null;
+        this.offset = 0;
+        this.length = text.length();
+        this.nameID = NameTable.NO_ID;
+        this.location = location;
+    }
+
+    /**
+     * Creates a token whose text is the given range of the source buffer. The text is only converted to a String when
+     * it is requested.
+     */
+    Token(TokenType type, byte[] source, int offset, int length, TokenLocation location) {
+        if (type == null) throw new IllegalArgumentException();
+        if (source == null) throw new IllegalArgumentException();
+        if (length <= 0) throw new IllegalArgumentException();
+        if (location == null) throw new IllegalArgumentException();
+
+        this.type = type;
+        this.text = null;
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.nameID = NameTable.NO_ID;
+        this.location = location;
+    }
+
+    /**
+     * Creates a token for a name registered in a name table. Identifier tokens carry the ID of their name, keywords
+     * carry {@link NameTable#NO_ID}. The text is shared among all tokens with the same spelling.
+     */
+    public Token(TokenType type, String name, int nameID, TokenLocation location) {
+        if (type == null) throw new IllegalArgumentException();
+        if (name == null) throw new IllegalArgumentException();
+        if (location == null) throw new IllegalArgumentException();
+
+        this.type = type;
+        this.text = name;
+        this.source = null;
+        this.offset = 0;
+        this.length = name.length();
+        this.nameID = nameID;
         this.location = location;
     }
 
     private final TokenType type;
-    private final String text;
+    private String text;
+    private final byte[] source;
+    private final int offset;
+    private final int length;
+    private final int nameID;
     private final TokenLocation location;
 
     public TokenType getType() {
@@ -21,9 +68,23 @@ public class Token {
     }
 
     public String getText() {
+        if (this.text == null) {
+            this.text = new String(this.source, this.offset, this.length, StandardCharsets.US_ASCII);
+        }
+
         return this.text;
     }
 
+    /** The number of characters in the text of the token. */
+    public int getLength() {
+        return this.length;
+    }
+
+    /** The ID of the name of an identifier token, or {@link NameTable#NO_ID} for all other tokens. */
+    public int getNameID() {
+        return this.nameID;
+    }
+
     public TokenLocation getLocation() {
         return this.location;
     }
@@ -33,7 +94,7 @@ public class Token {
         switch (this.type) {
             case IDENTIFIER:
             case INTEGER_LITERAL:
-                return this.type.toString() + "(" + this.text + ")";
+                return this.type.toString() + "(" + this.getText() + ")";
             default:
                 return this.type.toString();
         }
@@ -0,0 +1,268 @@
+package edu.kit.minijava.lexer;
+
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * The complete token stream of a source file, stored as parallel primitive arrays instead of one {@link Token} object
+ * per lexeme. Tokens are addressed by their index in the stream, so a consumer only needs to keep an integer cursor.
+ *
+ * If the lexer fails, the tokens before the offending input are kept and the exception is recorded. Consumers should
+ * rethrow it once their cursor reaches {@link #size()}, so lexer errors are reported at the same point as with an
+ * on-demand lexer.
+ */
+public final class TokenBuffer {
+
+    // MARK: - Initialization
+
+    /** Lexes the remaining input of the given lexer into a new buffer. */
+    public TokenBuffer(Lexer lexer) {
+        this(lexer.getInput(), lexer.getNameTable(), lexer.getLineIndex(),
+            estimateCapacity(lexer.getRemainingLength()));
+
+        this.appendRemainingTokens(lexer);
+    }
+
+    /// Creates an empty buffer for tokens of the given source that are added using the append methods. The capacity
+    /// should be estimated from the length of the range that is lexed, not of the entire source.
+    TokenBuffer(byte[] source, NameTable nameTable, LineIndex lines, int capacity) {
+        if (source == null) throw new IllegalArgumentException();
+        if (nameTable == null) throw new IllegalArgumentException();
+        if (lines == null) throw new IllegalArgumentException();
+        if (capacity <= 0) throw new IllegalArgumentException();
+
+        this.source = source;
+        this.nameTable = nameTable;
+        this.lines = lines;
+
+        this.types = new byte[capacity];
+        this.starts = new int[capacity];
+        this.lengths = new int[capacity];
+        this.nameIDs = new int[capacity];
+    }
+
+    /// Estimates the number of tokens in the given number of bytes of source code, roughly one per five bytes.
+    static int estimateCapacity(int length) {
+        return Math.max(16, length / 5);
+    }
+
+    /**
+     * Concatenates the given buffers, which must have been lexed from consecutive ranges of the same input. Names are
+     * re-registered in the given name table in order of first occurrence, so the resulting IDs are the same as if the
+     * input had been lexed sequentially. Lexing stops at the first buffer that recorded an exception.
+     */
+    TokenBuffer(List<TokenBuffer> chunks, NameTable nameTable) {
+        if (chunks == null || chunks.isEmpty()) throw new IllegalArgumentException();
+        if (nameTable == null) throw new IllegalArgumentException();
+
+        int capacity = 0;
+        int numberOfChunks = 0;
+
+        for (TokenBuffer chunk : chunks) {
+            capacity += chunk.count;
+            numberOfChunks += 1;
+
+            if (chunk.exception != null) {
+                break;
+            }
+        }
+
+        this.source = chunks.get(0).source;
+        this.nameTable = nameTable;
+        this.lines = chunks.get(0).lines;
+
+        this.types = new byte[Math.max(capacity, 1)];
+        this.starts = new int[Math.max(capacity, 1)];
+        this.lengths = new int[Math.max(capacity, 1)];
+        this.nameIDs = new int[Math.max(capacity, 1)];
+
+        for (TokenBuffer chunk : chunks.subList(0, numberOfChunks)) {
+            int[] remappedIDs = new int[chunk.nameTable.size()];
+
+            for (int id = 0; id < remappedIDs.length; id += 1) {
+                remappedIDs[id] = nameTable.getID(chunk.nameTable.getName(id));
+            }
+
+            System.arraycopy(chunk.types, 0, this.types, this.count, chunk.count);
+            System.arraycopy(chunk.starts, 0, this.starts, this.count, chunk.count);
+            System.arraycopy(chunk.lengths, 0, this.lengths, this.count, chunk.count);
+
+            for (int index = 0; index < chunk.count; index += 1) {
+                int id = chunk.nameIDs[index];
+
+                this.nameIDs[this.count + index] = id != NameTable.NO_ID ? remappedIDs[id] : NameTable.NO_ID;
+            }
+
+            this.count += chunk.count;
+            this.exception = chunk.exception;
+        }
+    }
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final byte[] source;
+    private final NameTable nameTable;
+    private final LineIndex lines;
+
+    private byte[] types;
+    private int[] starts;
+    private int[] lengths;
+    private int[] nameIDs;
+    private int count = 0;
+
+    private LexerException exception = null;
+
+    // MARK: - Appending Tokens
+
+    /// Appends the tokens the lexer has yet to produce. Records the exception if the lexer fails.
+    void appendRemainingTokens(Lexer lexer) {
+        try {
+            while (lexer.lexNextToken()) {
+                this.appendCurrentToken(lexer);
+            }
+        }
+        catch (LexerException exception) {
+            this.exception = exception;
+        }
+    }
+
+    /// Appends the token the lexer has produced most recently.
+    void appendCurrentToken(Lexer lexer) {
+        this.ensureCapacity(this.count + 1);
+
+        this.types[this.count] = (byte)lexer.getTokenType().ordinal();
+        this.starts[this.count] = lexer.getTokenStart();
+        this.lengths[this.count] = lexer.getTokenLength();
+        this.nameIDs[this.count] = lexer.getTokenNameID();
+        this.count += 1;
+    }
+
+    /// Appends a range of tokens of another buffer with the same name table, moving their start offsets by the given
+    /// distance.
+    void appendTokens(TokenBuffer other, int from, int to, int distance) {
+        if (other.nameTable != this.nameTable) throw new IllegalArgumentException();
+
+        int length = to - from;
+
+        this.ensureCapacity(this.count + length);
+
+        System.arraycopy(other.types, from, this.types, this.count, length);
+        System.arraycopy(other.lengths, from, this.lengths, this.count, length);
+        System.arraycopy(other.nameIDs, from, this.nameIDs, this.count, length);
+
+        for (int index = 0; index < length; index += 1) {
+            this.starts[this.count + index] = other.starts[from + index] + distance;
+        }
+
+        this.count += length;
+    }
+
+    void setException(LexerException exception) {
+        this.exception = exception;
+    }
+
+    int getCapacity() {
+        return this.types.length;
+    }
+
+    private void ensureCapacity(int minimumCapacity) {
+        if (minimumCapacity > this.types.length) {
+            int capacity = Math.max(minimumCapacity, 2 * this.types.length);
+
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+            this.nameIDs = Arrays.copyOf(this.nameIDs, capacity);
+        }
+    }
+
+    // MARK: - Accessing Tokens
+
+    /** The number of tokens that were lexed successfully. */
+    public int size() {
+        return this.count;
+    }
+
+    /** The exception thrown by the lexer after the last token in the buffer, or null if lexing succeeded. */
+    public LexerException getException() {
+        return this.exception;
+    }
+
+    public NameTable getNameTable() {
+        return this.nameTable;
+    }
+
+    /// The buffer the tokens were lexed from. Not copied, must not be modified.
+    byte[] getSource() {
+        return this.source;
+    }
+
+    LineIndex getLineIndex() {
+        return this.lines;
+    }
+
+    public TokenType getType(int index) {
+        this.checkIndex(index);
+
+        return TYPES[this.types[index]];
+    }
+
+    /** The offset of the first character of the token in the source buffer. */
+    public int getStart(int index) {
+        this.checkIndex(index);
+
+        return this.starts[index];
+    }
+
+    public int getLength(int index) {
+        this.checkIndex(index);
+
+        return this.lengths[index];
+    }
+
+    /** The ID of the name of an identifier token, or {@link NameTable#NO_ID} for all other tokens. */
+    public int getNameID(int index) {
+        this.checkIndex(index);
+
+        if (this.types[index] == TokenType.IDENTIFIER.ordinal()) {
+            return this.nameIDs[index];
+        }
+        else {
+            return NameTable.NO_ID;
+        }
+    }
+
+    public String getText(int index) {
+        this.checkIndex(index);
+
+        if (this.nameIDs[index] != NameTable.NO_ID) {
+            return this.nameTable.getName(this.nameIDs[index]);
+        }
+        else {
+            return new String(this.source, this.starts[index], this.lengths[index], StandardCharsets.US_ASCII);
+        }
+    }
+
+    public TokenLocation getLocation(int index) {
+        this.checkIndex(index);
+
+        return new TokenLocation(this.lines, this.starts[index]);
+    }
+
+    /** Materializes the token at the given index, e.g. for error reporting. */
+    public Token getToken(int index) {
+        TokenType type = this.getType(index);
+        TokenLocation location = this.getLocation(index);
+
+        if (this.nameIDs[index] != NameTable.NO_ID) {
+            return new Token(type, this.getText(index), this.getNameID(index), location);
+        }
+        else {
+            return new Token(type, this.source, this.starts[index], this.lengths[index], location);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.count) throw new IndexOutOfBoundsException();
+    }
+}
@@ -2,23 +2,59 @@ package edu.kit.minijava.lexer;
 
 public final class TokenLocation {
     public TokenLocation(int row, int column) {
-        this.row = row;
+        this.lines = null;
+        this.rowOrOffset = row;
         this.column = column;
     }
 
-    private final int row;
+    /**
+     * Creates a location that only stores an offset into the source buffer. Row and column are resolved using the given
+     * line index when they are first queried.
+     */
+    public TokenLocation(LineIndex lines, int offset) {
+        if (lines == null) throw new IllegalArgumentException();
+        if (offset < 0) throw new IllegalArgumentException();
+
+        this.lines = lines;
+        this.rowOrOffset = offset;
+        this.column = -1;
+    }
+
+    // There is one location per AST node, so the two kinds of locations share their fields to keep them small.
+    private final LineIndex lines; // nullable
+    private final int rowOrOffset;
     private final int column;
 
     public int getRow() {
-        return this.row;
+        if (this.lines != null) {
+            return this.lines.getRow(this.rowOrOffset);
+        }
+        else {
+            return this.rowOrOffset;
+        }
     }
 
     public int getColumn() {
-        return this.column;
+        if (this.lines != null) {
+            return this.lines.getColumn(this.rowOrOffset);
+        }
+        else {
+            return this.column;
+        }
+    }
+
+    /** The offset of the location in the source buffer, or -1 if the location was created from a row and column. */
+    public int getOffset() {
+        if (this.lines != null) {
+            return this.rowOrOffset;
+        }
+        else {
+            return -1;
+        }
     }
 
     @Override
     public String toString() {
-        return String.valueOf(this.row + 1) + ":" + String.valueOf(this.column + 1);
+        return String.valueOf(this.getRow() + 1) + ":" + String.valueOf(this.getColumn() + 1);
     }
 }
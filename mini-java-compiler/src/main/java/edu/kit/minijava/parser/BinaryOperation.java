@@ -4,30 +4,52 @@ import edu.kit.minijava.lexer.*;
 import edu.kit.minijava.ast.nodes.*;
 
 enum BinaryOperation {
-    MULTIPLICATION(TokenType.MULTIPLY, Associativity.LEFT_ASSOCIATIVE, 50),
-    DIVISION(TokenType.DIVIDE, Associativity.LEFT_ASSOCIATIVE, 50),
-    MODULO(TokenType.MODULO, Associativity.LEFT_ASSOCIATIVE, 50),
-    ADDITION(TokenType.PLUS, Associativity.LEFT_ASSOCIATIVE, 40),
-    SUBTRACTION(TokenType.MINUS, Associativity.LEFT_ASSOCIATIVE, 40),
-    LESS_THAN(TokenType.LESS_THAN, Associativity.LEFT_ASSOCIATIVE, 20),
-    LESS_THAN_OR_EQUAL_TO(TokenType.LESS_THAN_OR_EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 20),
-    GREATER_THAN(TokenType.GREATER_THAN, Associativity.LEFT_ASSOCIATIVE, 20),
-    GREATER_THAN_OR_EQUAL_TO(TokenType.GREATER_THAN_OR_EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 20),
-    EQUAL_TO(TokenType.EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 15),
-    NOT_EQUAL_TO(TokenType.NOT_EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 15),
-    LOGICAL_AND(TokenType.LOGICAL_AND, Associativity.LEFT_ASSOCIATIVE, 10),
-    LOGICAL_OR(TokenType.LOGICAL_OR, Associativity.LEFT_ASSOCIATIVE, 5),
-    ASSIGNMENT(TokenType.ASSIGN, Associativity.RIGHT_ASSOCIATIVE, 0);
+    MULTIPLICATION(TokenType.MULTIPLY, BinaryOperationType.MULTIPLICATION, Associativity.LEFT_ASSOCIATIVE, 50),
+    DIVISION(TokenType.DIVIDE, BinaryOperationType.DIVISION, Associativity.LEFT_ASSOCIATIVE, 50),
+    MODULO(TokenType.MODULO, BinaryOperationType.MODULO, Associativity.LEFT_ASSOCIATIVE, 50),
+    ADDITION(TokenType.PLUS, BinaryOperationType.ADDITION, Associativity.LEFT_ASSOCIATIVE, 40),
+    SUBTRACTION(TokenType.MINUS, BinaryOperationType.SUBTRACTION, Associativity.LEFT_ASSOCIATIVE, 40),
+    LESS_THAN(TokenType.LESS_THAN, BinaryOperationType.LESS_THAN, Associativity.LEFT_ASSOCIATIVE, 20),
+    LESS_THAN_OR_EQUAL_TO(TokenType.LESS_THAN_OR_EQUAL_TO, BinaryOperationType.LESS_THAN_OR_EQUAL_TO,
+        Associativity.LEFT_ASSOCIATIVE, 20),
+    GREATER_THAN(TokenType.GREATER_THAN, BinaryOperationType.GREATER_THAN, Associativity.LEFT_ASSOCIATIVE, 20),
+    GREATER_THAN_OR_EQUAL_TO(TokenType.GREATER_THAN_OR_EQUAL_TO, BinaryOperationType.GREATER_THAN_OR_EQUAL_TO,
+        Associativity.LEFT_ASSOCIATIVE, 20),
+    EQUAL_TO(TokenType.EQUAL_TO, BinaryOperationType.EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 15),
+    NOT_EQUAL_TO(TokenType.NOT_EQUAL_TO, BinaryOperationType.NOT_EQUAL_TO, Associativity.LEFT_ASSOCIATIVE, 15),
+    LOGICAL_AND(TokenType.LOGICAL_AND, BinaryOperationType.LOGICAL_AND, Associativity.LEFT_ASSOCIATIVE, 10),
+    LOGICAL_OR(TokenType.LOGICAL_OR, BinaryOperationType.LOGICAL_OR, Associativity.LEFT_ASSOCIATIVE, 5),
+    ASSIGNMENT(TokenType.ASSIGN, BinaryOperationType.ASSIGNMENT, Associativity.RIGHT_ASSOCIATIVE, 0);
 
-    BinaryOperation(TokenType tokenType, Associativity associativity, int precedence) {
+    BinaryOperation(TokenType tokenType, BinaryOperationType operationType, Associativity associativity,
+                    int precedence) {
         this.tokenType = tokenType;
+        this.operationType = operationType;
         this.associativity = associativity;
         this.precedence = precedence;
+
+        if (associativity == Associativity.LEFT_ASSOCIATIVE) {
+            this.precedenceOfRightOperand = precedence + 1;
+        }
+        else {
+            this.precedenceOfRightOperand = precedence;
+        }
     }
 
     private final TokenType tokenType;
+    private final BinaryOperationType operationType;
     private final Associativity associativity;
     private final int precedence;
+    private final int precedenceOfRightOperand;
+
+    /// Operations indexed by the ordinal of their token type, null for token types that are no binary operator.
+    private static final BinaryOperation[] OPERATIONS_BY_TOKEN_TYPE = new BinaryOperation[TokenType.values().length];
+
+    static {
+        for (BinaryOperation operation : BinaryOperation.values()) {
+            OPERATIONS_BY_TOKEN_TYPE[operation.tokenType.ordinal()] = operation;
+        }
+    }
 
     public TokenType getTokenType() {
         return this.tokenType;
@@ -41,37 +63,21 @@ enum BinaryOperation {
         return this.precedence;
     }
 
-    private BinaryOperationType getBinaryOperationType() {
-        switch (this) {
-            case MULTIPLICATION: return BinaryOperationType.MULTIPLICATION;
-            case DIVISION: return BinaryOperationType.DIVISION;
-            case MODULO: return BinaryOperationType.MODULO;
-            case ADDITION: return BinaryOperationType.ADDITION;
-            case SUBTRACTION: return BinaryOperationType.SUBTRACTION;
-            case LESS_THAN: return BinaryOperationType.LESS_THAN;
-            case LESS_THAN_OR_EQUAL_TO: return BinaryOperationType.LESS_THAN_OR_EQUAL_TO;
-            case GREATER_THAN: return BinaryOperationType.GREATER_THAN;
-            case GREATER_THAN_OR_EQUAL_TO: return BinaryOperationType.GREATER_THAN_OR_EQUAL_TO;
-            case EQUAL_TO: return BinaryOperationType.EQUAL_TO;
-            case NOT_EQUAL_TO: return BinaryOperationType.NOT_EQUAL_TO;
-            case LOGICAL_AND: return BinaryOperationType.LOGICAL_AND;
-            case LOGICAL_OR: return BinaryOperationType.LOGICAL_OR;
-            case ASSIGNMENT: return BinaryOperationType.ASSIGNMENT;
-            default: throw new AssertionError();
-        }
+    /// The minimum precedence of operators in the right operand, which is higher for left-associative operations.
+    public int getPrecedenceOfRightOperand() {
+        return this.precedenceOfRightOperand;
     }
 
     Expression.BinaryOperation instantiate(Expression lhs, Expression rhs, TokenLocation location) {
-        return new Expression.BinaryOperation(this.getBinaryOperationType(), lhs, rhs, location);
+        return new Expression.BinaryOperation(this.operationType, lhs, rhs, location);
     }
 
+    /// Returns the operation for the given token type, or null if the token type is null or no binary operator.
     static BinaryOperation forTokenType(TokenType tokenType) {
-        for (BinaryOperation operation : BinaryOperation.values()) {
-            if (operation.tokenType == tokenType) {
-                return operation;
-            }
+        if (tokenType == null) {
+            return null;
         }
 
-        return null;
+        return OPERATIONS_BY_TOKEN_TYPE[tokenType.ordinal()];
     }
 }
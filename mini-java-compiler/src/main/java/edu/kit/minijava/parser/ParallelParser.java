@@ -0,0 +1,145 @@
+package edu.kit.minijava.parser;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.lexer.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Parses the class declarations of a program concurrently. The result is identical to parsing the program with a
+ * single {@link Parser}, including the reported error if the program is malformed.
+ *
+ * A prescan matches braces to find the tokens that start a class declaration at the top level. Each class is parsed on
+ * its own, and a class is only accepted if its declaration ends exactly where the next one starts. Starting with the
+ * first class that fails this check, the remaining classes are parsed sequentially, which reports the same error as a
+ * sequential parser would.
+ */
+public final class ParallelParser {
+
+    // MARK: - Initialization
+
+    public ParallelParser(TokenBuffer tokens) {
+        this(tokens, false);
+    }
+
+    public ParallelParser(TokenBuffer tokens, boolean parsesMethodBodiesLazily) {
+        if (tokens == null) throw new IllegalArgumentException();
+
+        this.parser = new Parser(tokens, parsesMethodBodiesLazily);
+    }
+
+    private final Parser parser;
+
+    // MARK: - Parsing
+
+    /** Parses the program using the common pool. */
+    public Program parseProgram() throws ParserException {
+        return this.parseProgram(ForkJoinPool.commonPool());
+    }
+
+    public Program parseProgram(ForkJoinPool pool) throws ParserException {
+        if (pool == null) throw new IllegalArgumentException();
+
+        TokenBuffer tokens = this.parser.getTokens();
+        int[] boundaries = this.findClassBoundaries();
+        int numberOfClasses = boundaries.length - 1;
+
+        // The index of the token after the class declaration, or -1 if the declaration is malformed.
+        int[] ends = new int[numberOfClasses];
+        List<Callable<ClassDeclaration>> tasks = new ArrayList<>();
+
+        for (int index = 0; index < numberOfClasses; index += 1) {
+            int classIndex = index;
+
+            tasks.add(() -> {
+                Parser parser = this.parser.forkAt(boundaries[classIndex]);
+
+                try {
+                    ClassDeclaration declaration = parser.parseClassDeclaration();
+                    ends[classIndex] = parser.getPosition();
+
+                    return declaration;
+                }
+                catch (ParserException exception) {
+                    ends[classIndex] = -1;
+
+                    return null;
+                }
+            });
+        }
+
+        List<ClassDeclaration> classes = new ArrayList<>();
+        List<Future<ClassDeclaration>> futures = pool.invokeAll(tasks);
+
+        for (int index = 0; index < numberOfClasses; index += 1) {
+            ClassDeclaration declaration = getResult(futures.get(index));
+            boolean isLastClass = index == numberOfClasses - 1;
+
+            if (ends[index] == boundaries[index + 1] && (!isLastClass || tokens.getException() == null)) {
+                classes.add(declaration);
+            }
+            else {
+                this.parser.forkAt(boundaries[index]).parseRemainingClassDeclarations(classes);
+                break;
+            }
+        }
+
+        return new Program(classes, tokens.getNameTable());
+    }
+
+    private static ClassDeclaration getResult(Future<ClassDeclaration> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+        catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    // MARK: - Prescan
+
+    /**
+     * Returns the indices of the tokens at which class declarations start, followed by the number of tokens. The first
+     * boundary is always 0, even if the first token does not start a class declaration or there are no tokens at all,
+     * in which case parsing the first class fails and the sequential parser takes over.
+     */
+    int[] findClassBoundaries() {
+        TokenBuffer tokens = this.parser.getTokens();
+        int[] boundaries = new int[16];
+        int count = 1;
+        int depth = 0;
+
+        for (int index = 1; index < tokens.size(); index += 1) {
+            switch (tokens.getType(index)) {
+                case OPENING_BRACE:
+                    depth += 1;
+                    break;
+                case CLOSING_BRACE:
+                    depth = Math.max(depth - 1, 0);
+                    break;
+                case CLASS:
+                    if (depth == 0) {
+                        if (count == boundaries.length) {
+                            boundaries = Arrays.copyOf(boundaries, 2 * count);
+                        }
+
+                        boundaries[count] = index;
+                        count += 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        boundaries = Arrays.copyOf(boundaries, count + 1);
+        boundaries[count] = tokens.size();
+
+        return boundaries;
+    }
+}
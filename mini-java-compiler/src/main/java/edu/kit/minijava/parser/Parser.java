@@ -4,86 +4,134 @@ import edu.kit.minijava.lexer.*;
 import edu.kit.minijava.ast.nodes.*;
 import edu.kit.minijava.ast.references.*;
 
-import java.io.*;
 import java.util.*;
+import java.util.function.*;
 
 public final class Parser {
 
     // MARK: - Initialization
 
     public Parser(Lexer lexer) {
-        this.lexer = lexer;
+        this(new TokenBuffer(lexer));
     }
 
-    private final Lexer lexer;
+    public Parser(TokenBuffer tokens) {
+        this(tokens, false);
+    }
 
-    // MARK: - Parsing
+    /**
+     * Creates a parser that optionally only skips over method bodies by matching braces. Such bodies are parsed when
+     * they are first accessed, and syntax errors in them are thrown as {@link WrappedParserException} at that point.
+     */
+    public Parser(TokenBuffer tokens, boolean parsesMethodBodiesLazily) {
+        this.tokens = tokens;
+        this.stringNameID = tokens.getNameTable().findID("String");
+        this.parsesMethodBodiesLazily = parsesMethodBodiesLazily;
+    }
+
+    /// Creates a parser that shares the tokens of the given parser and starts at the given token index.
+    private Parser(Parser parser, int position) {
+        this.tokens = parser.tokens;
+        this.stringNameID = parser.stringNameID;
+        this.parsesMethodBodiesLazily = parser.parsesMethodBodiesLazily;
+        this.position = position;
+    }
 
-    /// A buffer of tokens returned by the lexer that have not yet been consumed.
-    /// Do not access directly.
-    private final List<Token> tokens = new ArrayList<>();
+    private final TokenBuffer tokens;
 
-    /// Do not access directly.
-    private boolean hasReceivedEndOfInputFromLexer = false;
+    /// The name ID of String, or NameTable.NO_ID if the source does not contain it. The name table is shared with the
+    /// lexer and the program, so the parser must not add names to it.
+    private final int stringNameID;
+    private final boolean parsesMethodBodiesLazily;
 
-    private Token getCurrentToken() throws ParserException {
-        return this.getTokenAtOffset(0);
+    TokenBuffer getTokens() {
+        return this.tokens;
     }
 
-    private Token getTokenAtOffset(int offset) throws ParserException {
-        try {
-            while (this.tokens.size() <= offset && !this.hasReceivedEndOfInputFromLexer) {
-                Token token = this.lexer.nextToken();
+    /// Returns a parser over the same tokens that starts at the given token index. Unlike creating a new parser, this
+    /// does not access the name table, so it is safe to use from multiple threads.
+    Parser forkAt(int position) {
+        return new Parser(this, position);
+    }
 
-                if (token != null) {
-                    this.tokens.add(token);
-                }
-                else {
-                    this.hasReceivedEndOfInputFromLexer = true;
-                    break;
-                }
-            }
+    int getPosition() {
+        return this.position;
+    }
+
+    // MARK: - Parsing
+
+    /// The index of the next token in the buffer that has not yet been consumed.
+    private int position = 0;
+
+    private TokenType getCurrentType() throws ParserException {
+        return this.getTypeAtOffset(0);
+    }
+
+    private TokenType getTypeAtOffset(int offset) throws ParserException {
+        int index = this.position + offset;
+
+        if (index < this.tokens.size()) {
+            return this.tokens.getType(index);
+        }
+        else if (this.tokens.getException() != null) {
+            throw new PropagatedException(this.tokens.getException());
         }
-        catch (LexerException | IOException exception) {
-            throw new PropagatedException(exception);
+        else {
+            return null;
         }
+    }
 
-        if (offset < this.tokens.size()) {
-            return this.tokens.get(offset);
+    /// Materializes the current token for error reporting. Returns null at the end of the input.
+    private Token getCurrentToken() throws ParserException {
+        if (this.getCurrentType() != null) {
+            return this.tokens.getToken(this.position);
         }
         else {
             return null;
         }
     }
 
+    private String getText(int index) {
+        return this.tokens.getText(index);
+    }
+
+    private int getNameID(int index) {
+        return this.tokens.getNameID(index);
+    }
+
+    private TokenLocation getLocation(int index) {
+        return this.tokens.getLocation(index);
+    }
+
     private boolean hasReachedEndOfInput() throws ParserException {
-        return this.getCurrentToken() == null;
+        return this.getCurrentType() == null;
     }
 
-    private boolean lookahead(TokenType first, TokenType... others) throws ParserException {
-        if (!first.matches(this.getCurrentToken())) {
-            return false;
-        }
+    // Fixed-arity overloads, as lookahead is called for almost every token and varargs would allocate an array.
 
-        for (int index = 0; index < others.length; index += 1) {
-            if (!others[index].matches(this.getTokenAtOffset(index + 1))) {
-                return false;
-            }
-        }
+    private boolean lookahead(TokenType first) throws ParserException {
+        return this.getCurrentType() == first;
+    }
 
-        return true;
+    private boolean lookahead(TokenType first, TokenType second) throws ParserException {
+        return this.getCurrentType() == first && this.getTypeAtOffset(1) == second;
     }
 
-    private Token consume(TokenType type, String context) throws ParserException {
-        Token token = this.getCurrentToken();
+    private boolean lookahead(TokenType first, TokenType second, TokenType third) throws ParserException {
+        return this.getCurrentType() == first && this.getTypeAtOffset(1) == second && this.getTypeAtOffset(2) == third;
+    }
 
-        if (token == null || token.getType() != type) {
-            throw new UnexpectedTokenException(token, context, type);
+    /// Returns the index of the consumed token in the buffer.
+    private int consume(TokenType type, String context) throws ParserException {
+        if (this.getCurrentType() != type) {
+            throw new UnexpectedTokenException(this.getCurrentToken(), context, type);
         }
 
-        this.tokens.remove(0);
+        int index = this.position;
+
+        this.position += 1;
 
-        return token;
+        return index;
     }
 
     // MARK: - Parsing MiniJava Files
@@ -91,17 +139,125 @@ public final class Parser {
     public Program parseProgram() throws ParserException {
         List<ClassDeclaration> classes = new ArrayList<>();
 
+        this.parseRemainingClassDeclarations(classes);
+
+        return new Program(classes, this.tokens.getNameTable());
+    }
+
+    /**
+     * Parses the program, but instead of stopping at the first syntax error, records it and skips ahead to the next
+     * semicolon or closing brace from which parsing can continue. The returned program only contains the parts that
+     * were parsed successfully. The errors are available from {@link #getErrors()} in the order of their occurrence.
+     */
+    public Program parseProgramRecoveringFromErrors() {
+        List<ClassDeclaration> classes = new ArrayList<>();
+
+        this.recoversFromErrors = true;
+        this.errors.clear();
+
+        try {
+            while (!this.hasReachedEndOfInput()) {
+                try {
+                    classes.add(this.parseClassDeclaration());
+                }
+                catch (PropagatedException exception) {
+                    throw exception;
+                }
+                catch (ParserException exception) {
+                    this.recordError(exception);
+                    this.skipToNextClassDeclaration();
+                }
+            }
+        }
+        catch (ParserException exception) {
+            // Lexer errors and errors at the end of the input cannot be recovered from.
+            this.recordError(exception);
+        }
+        finally {
+            this.recoversFromErrors = false;
+        }
+
+        return new Program(classes, this.tokens.getNameTable());
+    }
+
+    /** The syntax errors found by the last call to {@link #parseProgramRecoveringFromErrors()}. */
+    public List<ParserException> getErrors() {
+        return Collections.unmodifiableList(this.errors);
+    }
+
+    void parseRemainingClassDeclarations(List<ClassDeclaration> classes) throws ParserException {
         while (!this.hasReachedEndOfInput()) {
             classes.add(this.parseClassDeclaration());
         }
+    }
+
+    // MARK: - Error Recovery
+
+    private boolean recoversFromErrors = false;
+    private final List<ParserException> errors = new ArrayList<>();
+
+    /**
+     * Records the error and skips to the next semicolon outside of nested braces, consuming it, or to the closing
+     * brace of the enclosing block, leaving it for the caller. If a nested block is opened, it is skipped including its
+     * closing brace. Rethrows the error if not recovering from errors, and for errors that cannot be recovered from.
+     */
+    private void recover(ParserException exception) throws ParserException {
+        if (!this.recoversFromErrors || exception instanceof PropagatedException) {
+            throw exception;
+        }
+
+        this.recordError(exception);
+
+        int depth = 0;
 
-        return new Program(classes);
+        for (TokenType type = this.getCurrentType(); type != null; type = this.getCurrentType()) {
+            if (type == TokenType.SEMICOLON && depth == 0) {
+                this.position += 1;
+                return;
+            }
+            else if (type == TokenType.OPENING_BRACE) {
+                depth += 1;
+            }
+            else if (type == TokenType.CLOSING_BRACE) {
+                if (depth == 0) {
+                    return;
+                }
+
+                depth -= 1;
+
+                if (depth == 0) {
+                    this.position += 1;
+                    return;
+                }
+            }
+
+            this.position += 1;
+        }
+
+        // There is nothing left to parse.
+        throw exception;
+    }
+
+    /// Skips at least one token and then to the next class keyword.
+    private void skipToNextClassDeclaration() throws ParserException {
+        this.position += 1;
+
+        while (!this.hasReachedEndOfInput() && !this.lookahead(TokenType.CLASS)) {
+            this.position += 1;
+        }
+    }
+
+    private void recordError(ParserException exception) {
+        // Unrecoverable errors are rethrown through all enclosing recovery points.
+        if (this.errors.isEmpty() || this.errors.get(this.errors.size() - 1) != exception) {
+            this.errors.add(exception);
+        }
     }
 
-    private ClassDeclaration parseClassDeclaration() throws ParserException {
+    ClassDeclaration parseClassDeclaration() throws ParserException {
         this.consume(TokenType.CLASS, "ClassDeclaration");
 
-        Token token = this.consume(TokenType.IDENTIFIER, "ClassDeclaration");
+        int token = this.consume(TokenType.IDENTIFIER, "ClassDeclaration");
         List<FieldDeclaration> fields = new ArrayList<>();
         List<MethodDeclaration> methods = new ArrayList<>();
         List<MainMethodDeclaration> mainMethods = new ArrayList<>();
@@ -109,7 +265,15 @@ public final class Parser {
         this.consume(TokenType.OPENING_BRACE, "ClassDeclaration");
 
         while (!this.lookahead(TokenType.CLOSING_BRACE)) {
-            MemberDeclaration declaration = this.parseClassMember();
+            MemberDeclaration declaration;
+
+            try {
+                declaration = this.parseClassMember();
+            }
+            catch (ParserException exception) {
+                this.recover(exception);
+                continue;
+            }
 
             if (declaration instanceof FieldDeclaration) {
                 fields.add((FieldDeclaration)declaration);
@@ -127,7 +291,8 @@ public final class Parser {
 
         this.consume(TokenType.CLOSING_BRACE, "ClassDeclaration");
 
-        return new ClassDeclaration(token.getText(), mainMethods, methods, fields, token.getLocation());
+        return new ClassDeclaration(this.getText(token), this.getNameID(token), mainMethods, methods, fields,
+                this.getLocation(token));
     }
 
     private MemberDeclaration parseClassMember() throws ParserException {
@@ -138,20 +303,22 @@ public final class Parser {
             this.consume(TokenType.STATIC, "MainMethod");
 
             this.consume(TokenType.VOID, "MainMethod");
-            Token methodNameToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
+            int methodNameToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
 
             this.consume(TokenType.OPENING_PARENTHESIS, "MainMethod");
 
-            Token parameterTypeToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
+            int parameterTypeToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
 
-            if (!parameterTypeToken.getText().equals("String")) {
-                throw new UnexpectedTokenException(parameterTypeToken, "MainMethod", TokenType.IDENTIFIER);
+            if (this.getNameID(parameterTypeToken) != this.stringNameID) {
+                Token token = this.tokens.getToken(parameterTypeToken);
+
+                throw new UnexpectedTokenException(token, "MainMethod", TokenType.IDENTIFIER);
             }
 
             this.consume(TokenType.OPENING_BRACKET, "MainMethod");
             this.consume(TokenType.CLOSING_BRACKET, "MainMethod");
 
-            Token parameterNameToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
+            int parameterNameToken = this.consume(TokenType.IDENTIFIER, "MainMethod");
 
             this.consume(TokenType.CLOSING_PARENTHESIS, "MainMethod");
 
@@ -160,24 +327,33 @@ public final class Parser {
                 this.consume(TokenType.IDENTIFIER, "MainMethod");
             }
 
-            Statement.Block body = this.parseBlock();
+            String methodName = this.getText(methodNameToken);
+            int methodNameID = this.getNameID(methodNameToken);
+            Token parameterName = this.tokens.getToken(parameterNameToken);
+            TokenLocation methodLocation = this.getLocation(methodNameToken);
+            Supplier<Statement.Block> bodyParser = this.skipMethodBody();
 
-            String methodName = methodNameToken.getText();
-            TokenLocation methodLocation = methodNameToken.getLocation();
+            if (bodyParser != null) {
+                return new MainMethodDeclaration(methodName, methodNameID, parameterName, bodyParser, methodLocation);
+            }
+            else {
+                Statement.Block body = this.parseBlock();
 
-            return new MainMethodDeclaration(methodName, parameterNameToken, body, methodLocation);
+                return new MainMethodDeclaration(methodName, methodNameID, parameterName, body, methodLocation);
+            }
         }
 
         // ClassMember -> Method | Field
         else {
             ExplicitTypeReference type = this.parseType();
-            Token name = this.consume(TokenType.IDENTIFIER, "ClassMember");
+            int name = this.consume(TokenType.IDENTIFIER, "ClassMember");
 
             // ClassMember -> Field
             if (this.lookahead(TokenType.SEMICOLON)) {
                 this.consume(TokenType.SEMICOLON, "Field");
 
-                return new FieldDeclaration(type, false, name.getText(), name.getLocation());
+                return new FieldDeclaration(type, false, this.getText(name), this.getNameID(name),
+                        this.getLocation(name));
             }
 
             // ClassMember -> Method
@@ -193,13 +369,62 @@ public final class Parser {
                     this.consume(TokenType.IDENTIFIER, "Method");
                 }
 
-                Statement.Block body = this.parseBlock();
+                Supplier<Statement.Block> bodyParser = this.skipMethodBody();
+
+                if (bodyParser != null) {
+                    return new MethodDeclaration(type, this.getText(name), this.getNameID(name), parameters,
+                            bodyParser, this.getLocation(name));
+                }
+                else {
+                    Statement.Block body = this.parseBlock();
 
-                return new MethodDeclaration(type, name.getText(), parameters, body, name.getLocation());
+                    return new MethodDeclaration(type, this.getText(name), this.getNameID(name), parameters, body,
+                            this.getLocation(name));
+                }
             }
         }
     }
 
+    /**
+     * If method bodies are parsed lazily, skips over the block at the current position by matching braces and returns
+     * a function that parses it. Returns null if method bodies are parsed eagerly or if the braces do not match, in
+     * which case the block must be parsed right away to report the error.
+     */
+    private Supplier<Statement.Block> skipMethodBody() throws ParserException {
+        if (!this.parsesMethodBodiesLazily || !this.lookahead(TokenType.OPENING_BRACE)) {
+            return null;
+        }
+
+        int start = this.position;
+        int depth = 0;
+
+        for (int index = start; index < this.tokens.size(); index += 1) {
+            TokenType type = this.tokens.getType(index);
+
+            if (type == TokenType.OPENING_BRACE) {
+                depth += 1;
+            }
+            else if (type == TokenType.CLOSING_BRACE) {
+                depth -= 1;
+
+                if (depth == 0) {
+                    this.position = index + 1;
+
+                    return () -> {
+                        try {
+                            return this.forkAt(start).parseBlock();
+                        }
+                        catch (ParserException exception) {
+                            throw new WrappedParserException(exception);
+                        }
+                    };
+                }
+            }
+        }
+
+        return null;
+    }
+
     private List<ParameterDeclaration> parseParameters() throws ParserException {
         if (this.lookahead(TokenType.CLOSING_PARENTHESIS)) {
             return Collections.emptyList();
@@ -221,9 +446,9 @@ public final class Parser {
 
     private ParameterDeclaration parseParameter() throws ParserException {
         ExplicitTypeReference type = this.parseType();
-        Token token = this.consume(TokenType.IDENTIFIER, "Parameter");
+        int token = this.consume(TokenType.IDENTIFIER, "Parameter");
 
-        return new ParameterDeclaration(type, token.getText(), token.getLocation());
+        return new ParameterDeclaration(type, this.getText(token), this.getNameID(token), this.getLocation(token));
     }
 
     // MARK: - Parsing Statements
@@ -250,17 +475,22 @@ public final class Parser {
     }
 
     private Statement.Block parseBlock() throws ParserException {
-        Token token = this.consume(TokenType.OPENING_BRACE, "Block");
+        int token = this.consume(TokenType.OPENING_BRACE, "Block");
 
         List<Statement> statements = new ArrayList<>();
 
         while (!this.lookahead(TokenType.CLOSING_BRACE)) {
-            statements.add(this.parseBlockStatement());
+            try {
+                statements.add(this.parseBlockStatement());
+            }
+            catch (ParserException exception) {
+                this.recover(exception);
+            }
         }
 
         this.consume(TokenType.CLOSING_BRACE, "Block");
 
-        return new Statement.Block(statements, token.getLocation());
+        return new Statement.Block(statements, this.getLocation(token));
     }
 
     private Statement parseBlockStatement() throws ParserException {
@@ -298,7 +528,7 @@ public final class Parser {
 
     private Statement parseLocalVariableDeclarationStatement() throws ParserException {
         ExplicitTypeReference type = this.parseType();
-        Token name = this.consume(TokenType.IDENTIFIER, "LocalVariableDeclarationStatement");
+        int name = this.consume(TokenType.IDENTIFIER, "LocalVariableDeclarationStatement");
 
         // LocalVariableDeclarationStatement -> Type "IDENTIFIER" "=" Expression ";"
         if (this.lookahead(TokenType.ASSIGN)) {
@@ -306,35 +536,37 @@ public final class Parser {
             Expression value = this.parseExpression(0);
             this.consume(TokenType.SEMICOLON, "LocalVariableDeclarationStatement");
 
-            return new Statement.LocalVariableDeclarationStatement(type, name.getText(), value, name.getLocation());
+            return new Statement.LocalVariableDeclarationStatement(type, this.getText(name), this.getNameID(name),
+                    value, this.getLocation(name));
         }
 
         // LocalVariableDeclarationStatement -> Type "IDENTIFIER"  ";"
         else {
             this.consume(TokenType.SEMICOLON, "LocalVariableDeclarationStatement");
 
-            return new Statement.LocalVariableDeclarationStatement(type, name.getText(), name.getLocation());
+            return new Statement.LocalVariableDeclarationStatement(type, this.getText(name), this.getNameID(name),
+                    null, this.getLocation(name));
         }
     }
 
     private Statement parseEmptyStatement() throws ParserException {
-        Token token = this.consume(TokenType.SEMICOLON, "EmptyStatement");
+        int token = this.consume(TokenType.SEMICOLON, "EmptyStatement");
 
-        return new Statement.EmptyStatement(token.getLocation());
+        return new Statement.EmptyStatement(this.getLocation(token));
     }
 
     private Statement parseWhileStatement() throws ParserException {
-        Token token = this.consume(TokenType.WHILE, "WhileStatement");
+        int token = this.consume(TokenType.WHILE, "WhileStatement");
         this.consume(TokenType.OPENING_PARENTHESIS, "WhileStatement");
         Expression condition = this.parseExpression(0);
         this.consume(TokenType.CLOSING_PARENTHESIS, "WhileStatement");
         Statement statementWhileTrue = this.parseStatement();
 
-        return new Statement.WhileStatement(condition, statementWhileTrue, token.getLocation());
+        return new Statement.WhileStatement(condition, statementWhileTrue, this.getLocation(token));
     }
 
     private Statement parseIfStatement() throws ParserException {
-        Token token = this.consume(TokenType.IF, "IfStatement");
+        int token = this.consume(TokenType.IF, "IfStatement");
         this.consume(TokenType.OPENING_PARENTHESIS, "IfStatement");
         Expression condition = this.parseExpression(0);
         this.consume(TokenType.CLOSING_PARENTHESIS, "IfStatement");
@@ -346,12 +578,12 @@ public final class Parser {
 
             Statement statementIfFalse = this.parseStatement();
 
-            return new Statement.IfStatement(condition, statementIfTrue, statementIfFalse, token.getLocation());
+            return new Statement.IfStatement(condition, statementIfTrue, statementIfFalse, this.getLocation(token));
         }
 
         // IfStatement -> "if" "(" Expression ")" Statement
         else {
-            return new Statement.IfStatement(condition, statementIfTrue, token.getLocation());
+            return new Statement.IfStatement(condition, statementIfTrue, this.getLocation(token));
         }
     }
 
@@ -363,7 +595,7 @@ public final class Parser {
             throw new AssertionError();
         }
         else {
-            TokenLocation location = this.getCurrentToken().getLocation();
+            TokenLocation location = this.getLocation(this.position);
 
             Expression expression = this.parseExpression(0);
 
@@ -374,13 +606,13 @@ public final class Parser {
     }
 
     private Statement parseReturnStatement() throws ParserException {
-        Token token = this.consume(TokenType.RETURN, "ReturnStatement");
+        int token = this.consume(TokenType.RETURN, "ReturnStatement");
 
         // ReturnStatement -> "return" ";"
         if (this.lookahead(TokenType.SEMICOLON)) {
             this.consume(TokenType.SEMICOLON, "ReturnStatement");
 
-            return new Statement.ReturnStatement(token.getLocation());
+            return new Statement.ReturnStatement(this.getLocation(token));
         }
 
         // ReturnStatement -> "return" Expression ";"
@@ -388,52 +620,36 @@ public final class Parser {
             Expression value = this.parseExpression(0);
             this.consume(TokenType.SEMICOLON, "ReturnStatement");
 
-            return new Statement.ReturnStatement(value, token.getLocation());
+            return new Statement.ReturnStatement(value, this.getLocation(token));
         }
     }
 
     // MARK: - Parsing Expressions
 
     private Expression parseExpression(int minimumPrecedence) throws ParserException {
-        Stack<Token> consumedPrefixOperationTokens = new Stack<>();
 
-        // 1. Consume prefix operators
-        consumePrefixOperators:
-        while (!this.hasReachedEndOfInput()) {
-            switch (this.getCurrentToken().getType()) {
-                case LOGICAL_NEGATION:
-                    consumedPrefixOperationTokens.push(this.consume(TokenType.LOGICAL_NEGATION, null));
-                    break;
-                case MINUS:
-                    consumedPrefixOperationTokens.push(this.consume(TokenType.MINUS, null));
-                    break;
-                default:
-                    break consumePrefixOperators;
-            }
+        // 1. Consume prefix operators. They are consecutive tokens, so remembering the first one suffices.
+        int firstPrefixOperationToken = this.position;
+
+        while (this.lookahead(TokenType.LOGICAL_NEGATION) || this.lookahead(TokenType.MINUS)) {
+            this.position += 1;
         }
 
+        int lastPrefixOperationToken = this.position - 1;
+
         // 2. Parse primary expression
         Expression expression = this.parsePrimaryExpression();
 
         // 3. Consume postfix operations (they have higher precedence than prefix operators)
-        consumePostfixOperations:
-        while (!this.hasReachedEndOfInput()) {
-            switch (this.getCurrentToken().getType()) {
-                case PERIOD:
-                case OPENING_BRACKET:
-                    expression = this.parsePostfixOperationWithContext(expression);
-                    break;
-                default:
-                    break consumePostfixOperations;
-            }
+        while (this.lookahead(TokenType.PERIOD) || this.lookahead(TokenType.OPENING_BRACKET)) {
+            expression = this.parsePostfixOperationWithContext(expression);
         }
 
-        // 4. Apply consumed prefix operators now.
-        while (!consumedPrefixOperationTokens.isEmpty()) {
-            Token token = consumedPrefixOperationTokens.pop();
+        // 4. Apply consumed prefix operators now, innermost first.
+        for (int token = lastPrefixOperationToken; token >= firstPrefixOperationToken; token -= 1) {
             UnaryOperationType operation;
 
-            switch (token.getType()) {
+            switch (this.tokens.getType(token)) {
                 case LOGICAL_NEGATION:
                     operation = UnaryOperationType.LOGICAL_NEGATION;
                     break;
@@ -444,27 +660,20 @@ public final class Parser {
                     throw new Error();
             }
 
-            expression = new Expression.UnaryOperation(operation, expression, token.getLocation());
+            expression = new Expression.UnaryOperation(operation, expression, this.getLocation(token));
         }
 
         // 5. Precedence climbing with 'atom' including prefix operators and postfix operations.
-        while (!this.hasReachedEndOfInput()) {
-            BinaryOperation operation = BinaryOperation.forTokenType(this.getCurrentToken().getType());
+        for (BinaryOperation operation = BinaryOperation.forTokenType(this.getCurrentType());
+             operation != null && operation.getPrecedence() >= minimumPrecedence;
+             operation = BinaryOperation.forTokenType(this.getCurrentType())) {
 
-            if (operation == null || operation.getPrecedence() < minimumPrecedence) {
-                break;
-            }
+            int token = this.position;
+            this.position += 1;
 
-            Token token = this.consume(operation.getTokenType(), null);
-            int precedence = operation.getPrecedence();
+            Expression rhs = this.parseExpression(operation.getPrecedenceOfRightOperand());
 
-            if (operation.getAssociativity() == Associativity.LEFT_ASSOCIATIVE) {
-                precedence = precedence + 1;
-            }
-
-            Expression rhs = this.parseExpression(precedence);
-
-            expression = operation.instantiate(expression, rhs, token.getLocation());
+            expression = operation.instantiate(expression, rhs, this.getLocation(token));
         }
 
         return expression;
@@ -476,27 +685,29 @@ public final class Parser {
         if (this.lookahead(TokenType.PERIOD)) {
             this.consume(TokenType.PERIOD, "PostfixOperation");
 
-            Token token = this.consume(TokenType.IDENTIFIER, "PostfixOperation");
+            int token = this.consume(TokenType.IDENTIFIER, "PostfixOperation");
 
             if (this.lookahead(TokenType.OPENING_PARENTHESIS)) {
                 this.consume(TokenType.OPENING_PARENTHESIS, "MethodInvocation");
                 List<Expression> arguments = this.parseArguments();
                 this.consume(TokenType.CLOSING_PARENTHESIS, "MethodInvocation");
 
-                return new Expression.MethodInvocation(context, token.getText(), arguments, token.getLocation());
+                return new Expression.MethodInvocation(context, this.getText(token), this.getNameID(token),
+                        arguments, this.getLocation(token));
             }
             else {
-                return new Expression.ExplicitFieldAccess(context, token.getText(), token.getLocation());
+                return new Expression.ExplicitFieldAccess(context, this.getText(token), this.getNameID(token),
+                        this.getLocation(token));
             }
         }
 
         // PostfixOperation -> ArrayAccess
         else if (this.lookahead(TokenType.OPENING_BRACKET)) {
-            Token token = this.consume(TokenType.OPENING_BRACKET, "ArrayAccess");
+            int token = this.consume(TokenType.OPENING_BRACKET, "ArrayAccess");
             Expression index = this.parseExpression(0);
             this.consume(TokenType.CLOSING_BRACKET, "ArrayAccess");
 
-            return new Expression.ArrayElementAccess(context, index, token.getLocation());
+            return new Expression.ArrayElementAccess(context, index, this.getLocation(token));
         }
 
         else {
@@ -521,53 +732,55 @@ public final class Parser {
 
         // PrimaryExpression -> "IDENTIFIER" | "IDENTIFIER" "(" Arguments ")"
         else if (this.lookahead(TokenType.IDENTIFIER)) {
-            Token token = this.consume(TokenType.IDENTIFIER, "PrimaryExpression");
+            int token = this.consume(TokenType.IDENTIFIER, "PrimaryExpression");
 
             if (this.lookahead(TokenType.OPENING_PARENTHESIS)) {
                 this.consume(TokenType.OPENING_PARENTHESIS, "PrimaryExpression");
                 List<Expression> arguments = this.parseArguments();
                 this.consume(TokenType.CLOSING_PARENTHESIS, "PrimaryExpression");
 
-                return new Expression.MethodInvocation(token.getText(), arguments, token.getLocation());
+                return new Expression.MethodInvocation(null, this.getText(token), this.getNameID(token),
+                        arguments, this.getLocation(token));
             }
             else {
-                return new Expression.VariableAccess(token.getText(), token.getLocation());
+                return new Expression.VariableAccess(this.getText(token), this.getNameID(token),
+                        this.getLocation(token));
             }
         }
 
         // PrimaryExpression -> Literal -> "INTEGER_LITERAL"
         else if (this.lookahead(TokenType.INTEGER_LITERAL)) {
-            Token token = this.consume(TokenType.INTEGER_LITERAL, null);
+            int token = this.consume(TokenType.INTEGER_LITERAL, null);
 
-            return new Expression.IntegerLiteral(token.getText(), token.getLocation());
+            return new Expression.IntegerLiteral(this.getText(token), this.getLocation(token));
         }
 
         // PrimaryExpression -> Literal -> "null"
         else if (this.lookahead(TokenType.NULL)) {
-            Token token = this.consume(TokenType.NULL, null);
+            int token = this.consume(TokenType.NULL, null);
 
-            return new Expression.NullLiteral(token.getLocation());
+            return new Expression.NullLiteral(this.getLocation(token));
         }
 
         // PrimaryExpression -> Literal -> "true"
         else if (this.lookahead(TokenType.TRUE)) {
-            Token token = this.consume(TokenType.TRUE, null);
+            int token = this.consume(TokenType.TRUE, null);
 
-            return new Expression.BooleanLiteral(true, token.getLocation());
+            return new Expression.BooleanLiteral(true, this.getLocation(token));
         }
 
         // PrimaryExpression -> Literal -> "false"
         else if (this.lookahead(TokenType.FALSE)) {
-            Token token = this.consume(TokenType.FALSE, null);
+            int token = this.consume(TokenType.FALSE, null);
 
-            return new Expression.BooleanLiteral(false, token.getLocation());
+            return new Expression.BooleanLiteral(false, this.getLocation(token));
         }
 
         // PrimaryExpression -> "this"
         else if (this.lookahead(TokenType.THIS)) {
-            Token token = this.consume(TokenType.THIS, null);
+            int token = this.consume(TokenType.THIS, null);
 
-            return new Expression.CurrentContextAccess(token.getLocation());
+            return new Expression.CurrentContextAccess(this.getLocation(token));
         }
 
         // PrimaryExpression -> NewObjectExpression | NewArrayExpression
@@ -576,22 +789,25 @@ public final class Parser {
 
             // PrimaryExpression -> NewObjectExpression -> "new" "IDENTIFIER" "(" ")"
             if (this.lookahead(TokenType.IDENTIFIER, TokenType.OPENING_PARENTHESIS)) {
-                Token token = this.consume(TokenType.IDENTIFIER, "NewObjectExpression");
+                int token = this.consume(TokenType.IDENTIFIER, "NewObjectExpression");
                 this.consume(TokenType.OPENING_PARENTHESIS, "NewObjectExpression");
                 this.consume(TokenType.CLOSING_PARENTHESIS, "NewObjectExpression");
 
-                return new Expression.NewObjectCreation(token.getText(), token.getLocation());
+                return new Expression.NewObjectCreation(this.getText(token), this.getNameID(token),
+                        this.getLocation(token));
             }
 
             // PrimaryExpression -> NewArrayExpression -> "new" BasicType "[" Expression "]" { "[" "]" }
             else {
                 ExplicitReference<BasicTypeDeclaration> basicType = this.parseBasicType();
-                Token token = this.consume(TokenType.OPENING_BRACKET, "NewArrayExpression");
+                int token = this.consume(TokenType.OPENING_BRACKET, "NewArrayExpression");
                 Expression expression = this.parseExpression(0);
                 this.consume(TokenType.CLOSING_BRACKET, "NewArrayExpression");
                 int numberOfDimensions = 1 + this.parseOpeningAndClosingBrackets();
 
-                return new Expression.NewArrayCreation(basicType, expression, numberOfDimensions, token.getLocation());
+                TokenLocation location = this.getLocation(token);
+
+                return new Expression.NewArrayCreation(basicType, expression, numberOfDimensions, location);
             }
         }
 
@@ -634,30 +850,30 @@ public final class Parser {
 
         // BasicType -> "IDENTIFIER"
         if (this.lookahead(TokenType.IDENTIFIER)) {
-            Token token = this.consume(TokenType.IDENTIFIER, null);
+            int token = this.consume(TokenType.IDENTIFIER, null);
 
-            return new ExplicitReference<>(token.getText(), token.getLocation());
+            return new ExplicitReference<>(this.getText(token), this.getNameID(token), this.getLocation(token));
         }
 
         // BasicType -> "int"
         else if (this.lookahead(TokenType.INT)) {
-            Token token = this.consume(TokenType.INT, null);
+            int token = this.consume(TokenType.INT, null);
 
-            return new ExplicitReference<>(token.getText(), token.getLocation());
+            return new ExplicitReference<>(this.getText(token), this.getLocation(token));
         }
 
         // BasicType -> "boolean"
         else if (this.lookahead(TokenType.BOOLEAN)) {
-            Token token = this.consume(TokenType.BOOLEAN, null);
+            int token = this.consume(TokenType.BOOLEAN, null);
 
-            return new ExplicitReference<>(token.getText(), token.getLocation());
+            return new ExplicitReference<>(this.getText(token), this.getLocation(token));
         }
 
         // BasicType -> "void"
         else if (this.lookahead(TokenType.VOID)) {
-            Token token = this.consume(TokenType.VOID, null);
+            int token = this.consume(TokenType.VOID, null);
 
-            return new ExplicitReference<>(token.getText(), token.getLocation());
+            return new ExplicitReference<>(this.getText(token), this.getLocation(token));
         }
 
         else {
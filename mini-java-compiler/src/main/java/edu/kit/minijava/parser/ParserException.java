@@ -1,4 +1,9 @@
 package edu.kit.minijava.parser;
 
 public abstract class ParserException extends Exception {
+    protected ParserException() {
+        // Syntax errors are reported to the user and may be thrown many times when recovering from errors, so the
+        // stack trace is not worth capturing.
+        super(null, null, false, false);
+    }
 }
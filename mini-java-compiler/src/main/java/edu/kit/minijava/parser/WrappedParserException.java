@@ -0,0 +1,18 @@
+package edu.kit.minijava.parser;
+
+/**
+ * An exception that describes a syntax error in a lazily parsed method body. It is wrapped in an unchecked exception
+ * because the body is only parsed when it is first accessed, e.g. by a visitor.
+ */
+public class WrappedParserException extends RuntimeException {
+    WrappedParserException(ParserException exception) {
+        if (exception == null) throw new IllegalArgumentException();
+        this.exception = exception;
+    }
+
+    private ParserException exception;
+
+    public ParserException getException() {
+        return this.exception;
+    }
+}
@@ -3,38 +3,145 @@ package edu.kit.minijava.semantic;
 import edu.kit.minijava.ast.nodes.*;
 
 import java.util.*;
+import java.util.function.*;
 
+/**
+ * Collects the nodes and references of a program in a single traversal. The collected elements are grouped by their
+ * classes, so looking up the instances of a class only looks at the matching groups instead of all elements.
+ */
 public class Collector extends ASTVisitor<Void> {
 
     public Collector(Program program) {
+        super(false);
+
+        this.action = null;
+
         program.accept(this);
     }
 
-    private final List<Object> elements = new ArrayList<>();
+    private Collector(Consumer<Object> action) {
+        super(false);
+
+        this.action = action;
+    }
+
+    /**
+     * Passes the instances of the given class in the program to the action, in the order they would be returned by
+     * {@link #instancesOfClass(Class)}. Unlike creating a collector, this does not store any elements.
+     */
+    public static <T> void forEachInstanceOfClass(Program program, Class<T> genericClass,
+                                                  Consumer<? super T> action) {
+        Collector collector = new Collector(element -> {
+            if (genericClass.isInstance(element)) {
+                action.accept(genericClass.cast(element));
+            }
+        });
+
+        program.accept(collector);
+    }
+
+    /// Receives the elements as they are visited in streaming mode, or null if they are collected.
+    private final Consumer<Object> action;
+
+    /// The collected elements grouped by their concrete classes, and the lists of instances that have been looked up.
+    private final Map<Class<?>, Group> groups = new HashMap<>();
+    private final Map<Class<?>, List<?>> instancesByClass = new HashMap<>();
+    private int numberOfElements = 0;
 
+    /** Returns the instances of the given class in traversal order. Repeated lookups return the same list. */
+    @SuppressWarnings("unchecked")
     public <T> List<T> instancesOfClass(Class<T> genericClass) {
-        List<T> instances = new ArrayList<>();
+        List<?> instances = this.instancesByClass.get(genericClass);
 
-        for (Object element : this.elements) {
-            try {
-                instances.add(genericClass.cast(element));
+        if (instances == null) {
+            instances = this.collectInstancesOfClass(genericClass);
+            this.instancesByClass.put(genericClass, instances);
+        }
+
+        return (List<T>)instances;
+    }
+
+    private List<Object> collectInstancesOfClass(Class<?> genericClass) {
+        List<Group> matchingGroups = new ArrayList<>();
+        int numberOfInstances = 0;
+
+        for (Map.Entry<Class<?>, Group> entry : this.groups.entrySet()) {
+            if (genericClass.isAssignableFrom(entry.getKey())) {
+                matchingGroups.add(entry.getValue());
+                numberOfInstances += entry.getValue().elements.size();
             }
-            catch (ClassCastException exception) {}
         }
 
-        return instances;
+        if (matchingGroups.size() == 1) {
+            return Collections.unmodifiableList(matchingGroups.get(0).elements);
+        }
+
+        // Merge the groups back into traversal order.
+        List<Object> instances = new ArrayList<>(numberOfInstances);
+        int[] cursors = new int[matchingGroups.size()];
+
+        while (instances.size() < numberOfInstances) {
+            int nextGroup = -1;
+            int nextPosition = Integer.MAX_VALUE;
+
+            for (int index = 0; index < matchingGroups.size(); index++) {
+                Group group = matchingGroups.get(index);
+
+                if (cursors[index] < group.elements.size() && group.positions[cursors[index]] < nextPosition) {
+                    nextGroup = index;
+                    nextPosition = group.positions[cursors[index]];
+                }
+            }
+
+            instances.add(matchingGroups.get(nextGroup).elements.get(cursors[nextGroup]));
+            cursors[nextGroup] += 1;
+        }
+
+        return Collections.unmodifiableList(instances);
+    }
+
+    private void collect(Object element) {
+        if (this.action != null) {
+            this.action.accept(element);
+            return;
+        }
+
+        Group group = this.groups.get(element.getClass());
+
+        if (group == null) {
+            group = new Group();
+            this.groups.put(element.getClass(), group);
+        }
+
+        group.add(element, this.numberOfElements);
+        this.numberOfElements += 1;
+    }
+
+    /// Elements of the same class and their positions in traversal order.
+    private static final class Group {
+        private final List<Object> elements = new ArrayList<>();
+        private int[] positions = new int[16];
+
+        void add(Object element, int position) {
+            if (this.elements.size() == this.positions.length) {
+                this.positions = Arrays.copyOf(this.positions, 2 * this.positions.length);
+            }
+
+            this.positions[this.elements.size()] = position;
+            this.elements.add(element);
+        }
     }
 
     @Override
     protected void visit(Program program, Void context) {
-        this.elements.add(program);
+        this.collect(program);
 
         program.getClassDeclarations().forEach(d -> d.accept(this));
     }
 
     @Override
     protected void visit(ClassDeclaration classDeclaration, Void context) {
-        this.elements.add(classDeclaration);
+        this.collect(classDeclaration);
 
         classDeclaration.getMainMethodDeclarations().forEach(d -> d.accept(this));
         classDeclaration.getMethodDeclarations().forEach(d -> d.accept(this));
@@ -43,14 +150,14 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(FieldDeclaration fieldDeclaration, Void context) {
-        this.elements.add(fieldDeclaration);
+        this.collect(fieldDeclaration);
 
         fieldDeclaration.getType().accept(this);
     }
 
     @Override
     protected void visit(MethodDeclaration methodDeclaration, Void context) {
-        this.elements.add(methodDeclaration);
+        this.collect(methodDeclaration);
 
         methodDeclaration.getReturnType().accept(this);
         methodDeclaration.getParameters().forEach(d -> d.accept(this));
@@ -59,7 +166,7 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(MainMethodDeclaration methodDeclaration, Void context) {
-        this.elements.add(methodDeclaration);
+        this.collect(methodDeclaration);
 
         methodDeclaration.getReturnType().accept(this);
         methodDeclaration.getArgumentsParameter().accept(this);
@@ -68,24 +175,24 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(ParameterDeclaration parameterDeclaration, Void context) {
-        this.elements.add(parameterDeclaration);
+        this.collect(parameterDeclaration);
 
         parameterDeclaration.getType().accept(this);
     }
 
     @Override
     protected void visit(ExplicitTypeReference reference, Void context) {
-        this.elements.add(reference);
+        this.collect(reference);
     }
 
     @Override
     protected void visit(ImplicitTypeReference reference, Void context) {
-        this.elements.add(reference);
+        this.collect(reference);
     }
 
     @Override
     protected void visit(Statement.IfStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
 
         statement.getCondition().accept(this);
         statement.getStatementIfTrue().accept(this);
@@ -94,7 +201,7 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(Statement.WhileStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
 
         statement.getCondition().accept(this);
         statement.getStatementWhileTrue().accept(this);
@@ -102,26 +209,26 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(Statement.ExpressionStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
 
         statement.getExpression().accept(this);
     }
 
     @Override
     protected void visit(Statement.ReturnStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
 
         statement.getValue().ifPresent(v -> v.accept(this));
     }
 
     @Override
     protected void visit(Statement.EmptyStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
     }
 
     @Override
     protected void visit(Statement.LocalVariableDeclarationStatement statement, Void context) {
-        this.elements.add(statement);
+        this.collect(statement);
 
         statement.getType().accept(this);
         statement.getValue().ifPresent(v -> v.accept(this));
@@ -129,63 +236,63 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(Statement.Block block, Void context) {
-        this.elements.add(block);
+        this.collect(block);
 
         block.getStatements().forEach(s -> s.accept(this));
     }
 
     @Override
     protected void visit(Expression.BinaryOperation expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
-        this.elements.add(expression.getOperationType());
+        this.collect(expression.getOperationType());
         expression.getLeft().accept(this);
         expression.getRight().accept(this);
     }
 
     @Override
     protected void visit(Expression.UnaryOperation expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
-        this.elements.add(expression.getOperationType());
+        this.collect(expression.getOperationType());
         expression.getOther().accept(this);
     }
 
     @Override
     protected void visit(Expression.NullLiteral expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 
     @Override
     protected void visit(Expression.BooleanLiteral expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 
     @Override
     protected void visit(Expression.IntegerLiteral expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 
     @Override
     protected void visit(Expression.MethodInvocation expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
         expression.getContext().ifPresent(e -> e.accept(this));
-        this.elements.add(expression.getMethodReference());
+        this.collect(expression.getMethodReference());
         expression.getArguments().forEach(a -> a.accept(this));
     }
 
     @Override
     protected void visit(Expression.ExplicitFieldAccess expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
         expression.getContext().accept(this);
-        this.elements.add(expression.getFieldReference());
+        this.collect(expression.getFieldReference());
     }
 
     @Override
     protected void visit(Expression.ArrayElementAccess expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
         expression.getContext().accept(this);
         expression.getIndex().accept(this);
@@ -193,52 +300,52 @@ public class Collector extends ASTVisitor<Void> {
 
     @Override
     protected void visit(Expression.VariableAccess expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
-        this.elements.add(expression.getVariableReference());
+        this.collect(expression.getVariableReference());
     }
 
     @Override
     protected void visit(Expression.CurrentContextAccess expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 
     @Override
     protected void visit(Expression.NewObjectCreation expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
-        this.elements.add(expression.getClassReference());
+        this.collect(expression.getClassReference());
     }
 
     @Override
     protected void visit(Expression.NewArrayCreation expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
-        this.elements.add(expression.getBasicTypeReference());
+        this.collect(expression.getBasicTypeReference());
         expression.getPrimaryDimension().accept(this);
     }
 
     @Override
     protected void visit(Expression.SystemOutPrintlnExpression expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
         expression.getArgument().accept(this);
     }
 
     @Override
     protected void visit(Expression.SystemOutFlushExpression expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 
     @Override
     protected void visit(Expression.SystemOutWriteExpression expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
 
         expression.getArgument().accept(this);
     }
 
     @Override
     protected void visit(Expression.SystemInReadExpression expression, Void context) {
-        this.elements.add(expression);
+        this.collect(expression);
     }
 }
@@ -0,0 +1,132 @@
+package edu.kit.minijava.semantic;
+
+import java.util.*;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.lexer.NameTable;
+
+/**
+ * The fields and methods of all classes of a program, built once after the members have been collected.
+ *
+ * Building the index assigns dense slot numbers to all classes, fields and methods, which later phases use to keep
+ * per-declaration data in arrays instead of maps. Members are looked up by the slot of their class and the ID of their
+ * name in a single open-addressing table. The index is not modified after it has been built, so it can be shared by the
+ * visitors that check method bodies in parallel.
+ */
+final class MemberIndex {
+    MemberIndex(Program program) {
+        this.names = new NameIDs(program.getNameTable());
+
+        List<ClassDeclaration> classDeclarations = program.getClassDeclarations();
+        int numberOfMembers = 0;
+
+        for (ClassDeclaration classDeclaration : classDeclarations) {
+            numberOfMembers += classDeclaration.getFieldDeclarations().size();
+            numberOfMembers += classDeclaration.getMethodDeclarations().size();
+        }
+
+        // Keep the load factor at or below one half.
+        int bits = 4;
+
+        while ((1 << bits) < 2 * numberOfMembers) {
+            bits++;
+        }
+
+        this.shift = 64 - bits;
+        this.keys = new long[1 << bits];
+        this.members = new MemberDeclaration[1 << bits];
+
+        Arrays.fill(this.keys, EMPTY);
+
+        int fieldSlot = 0;
+        int methodSlot = 0;
+
+        for (int classSlot = 0; classSlot < classDeclarations.size(); classSlot++) {
+            ClassDeclaration classDeclaration = classDeclarations.get(classSlot);
+            classDeclaration.setSlot(classSlot);
+
+            for (FieldDeclaration fieldDeclaration : classDeclaration.getFieldDeclarations()) {
+                fieldDeclaration.setSlot(fieldSlot++);
+                this.insert(FIELD, classSlot, fieldDeclaration.getName(), fieldDeclaration.getNameID(),
+                    fieldDeclaration);
+            }
+
+            for (MethodDeclaration methodDeclaration : classDeclaration.getMethodDeclarations()) {
+                methodDeclaration.setSlot(methodSlot++);
+                this.insert(METHOD, classSlot, methodDeclaration.getName(), methodDeclaration.getNameID(),
+                    methodDeclaration);
+            }
+
+            // Main methods cannot be invoked, so they get slots but are not entered into the table.
+            for (MainMethodDeclaration methodDeclaration : classDeclaration.getMainMethodDeclarations()) {
+                methodDeclaration.setSlot(methodSlot++);
+            }
+        }
+    }
+
+    private static final long EMPTY = -1;
+    private static final long FIELD = 0;
+    private static final long METHOD = 1;
+
+    private final NameIDs names;
+    private final int shift;
+    private final long[] keys;
+    private final MemberDeclaration[] members;
+
+
+    // MARK: - Lookup
+
+    /** Returns the field with the given name in the given class, or null if there is none. */
+    FieldDeclaration getFieldDeclarationOrNull(ClassDeclaration container, String name, int nameID) {
+        return (FieldDeclaration)this.find(FIELD, container, name, nameID);
+    }
+
+    /** Returns the method with the given name in the given class, or null if there is none. */
+    MethodDeclaration getMethodDeclarationOrNull(ClassDeclaration container, String name, int nameID) {
+        return (MethodDeclaration)this.find(METHOD, container, name, nameID);
+    }
+
+    private MemberDeclaration find(long kind, ClassDeclaration container, String name, int nameID) {
+        int id = this.names.find(name, nameID);
+
+        if (id == NameTable.NO_ID) {
+            return null;
+        }
+
+        long key = makeKey(kind, container.getSlot(), id);
+        int mask = this.keys.length - 1;
+
+        for (int index = this.indexOf(key); this.keys[index] != EMPTY; index = (index + 1) & mask) {
+            if (this.keys[index] == key) {
+                return this.members[index];
+            }
+        }
+
+        return null;
+    }
+
+
+    // MARK: - Table
+
+    private void insert(long kind, int classSlot, String name, int nameID, MemberDeclaration member) {
+        long key = makeKey(kind, classSlot, this.names.get(name, nameID));
+        int mask = this.keys.length - 1;
+        int index = this.indexOf(key);
+
+        // Redeclarations have been rejected while collecting the members, so every key is inserted at most once.
+        while (this.keys[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+
+        this.keys[index] = key;
+        this.members[index] = member;
+    }
+
+    private int indexOf(long key) {
+        return (int)((key * 0x9E3779B97F4A7C15L) >>> this.shift);
+    }
+
+    private static long makeKey(long kind, int classSlot, int id) {
+        return ((long)classSlot << 33) | (kind << 32) | id;
+    }
+}
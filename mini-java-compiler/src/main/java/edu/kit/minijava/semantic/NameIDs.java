@@ -0,0 +1,54 @@
+package edu.kit.minijava.semantic;
+
+import java.util.*;
+
+import edu.kit.minijava.lexer.NameTable;
+
+/**
+ * Maps names to the IDs they have in a program's name table. Names that are not in the table, e.g. in programs that
+ * were not created by the parser, get IDs after the ones of the table. The table itself is not modified because it may
+ * be shared by concurrent analyses.
+ */
+final class NameIDs {
+    NameIDs(NameTable nameTable) {
+        if (nameTable == null) throw new IllegalArgumentException();
+
+        this.nameTable = nameTable;
+    }
+
+    private final NameTable nameTable;
+    private final Map<String, Integer> additionalNames = new HashMap<>();
+
+    NameTable getNameTable() {
+        return this.nameTable;
+    }
+
+    /** Returns the ID of the given name, or {@link NameTable#NO_ID} if it has none yet. */
+    int find(String name, int nameID) {
+        if (nameID != NameTable.NO_ID) {
+            return nameID;
+        }
+
+        int id = this.nameTable.findID(name);
+
+        if (id != NameTable.NO_ID) {
+            return id;
+        }
+
+        return this.additionalNames.getOrDefault(name, NameTable.NO_ID);
+    }
+
+    /** Returns the ID of the given name, assigning a new one if it has none yet. */
+    int get(String name, int nameID) {
+        int id = this.find(name, nameID);
+
+        if (id != NameTable.NO_ID) {
+            return id;
+        }
+
+        id = this.nameTable.size() + this.additionalNames.size();
+        this.additionalNames.put(name, id);
+
+        return id;
+    }
+}
@@ -1,6 +1,7 @@
 package edu.kit.minijava.semantic;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import edu.kit.minijava.lexer.*;
 import edu.kit.minijava.ast.nodes.*;
@@ -11,25 +12,60 @@ import edu.kit.minijava.ast.references.*;
  * declarations and one to resolve all references and expression types.
  *
  * Before visiting an expression, its type is not resolved. After visiting an expression, its type must be resolved.
+ *
+ * Once all declarations are collected, method bodies can be checked independently of each other. In parallel mode,
+ * the methods are split into ranges, each of which is checked by a separate visitor with its own scopes. If several
+ * methods contain errors, the error in the method that is declared first in the source is reported, so the result
+ * does not depend on scheduling.
  */
 public class ReferenceAndExpressionTypeResolver extends
         SemanticAnalysisVisitorBase<ReferenceAndExpressionTypeResolver.Options> {
     public ReferenceAndExpressionTypeResolver(Program program) throws SemanticException {
+        super(program.getNameTable());
+
+        this.resolve(program, null);
+    }
+
+    /** Resolves the program, checking method bodies in parallel on the given pool. */
+    public ReferenceAndExpressionTypeResolver(Program program, ForkJoinPool pool) throws SemanticException {
+        super(program.getNameTable());
+
+        if (pool == null) throw new IllegalArgumentException();
+
+        this.resolve(program, pool);
+    }
+
+    private ReferenceAndExpressionTypeResolver(ReferenceAndExpressionTypeResolver other) {
+        super(other);
+    }
+
+    private void resolve(Program program, ForkJoinPool pool) throws SemanticException {
         this.enterNewVariableDeclarationScope();
 
         // Catch semantic exceptions which are wrapped in unchecked exceptions to not break
         // visitor pattern and stream handling.
         try {
             // First pass: collect classes
-            program.accept(this, null);
+            for (ClassDeclaration classDeclaration : program.getClassDeclarations()) {
+                this.registerClassDeclaration(classDeclaration);
+            }
+
             this.finishCollectingClassDeclarations();
 
             // Second pass: collect class members (fields/methods)
-            program.accept(this, null);
-            this.finishCollectingClassMemberDeclarations();
+            for (ClassDeclaration classDeclaration : program.getClassDeclarations()) {
+                this.collectClassMemberDeclarations(classDeclaration);
+            }
+
+            this.finishCollectingClassMemberDeclarations(program);
 
             // Third pass: check declarations
-            program.accept(this, null);
+            if (pool != null) {
+                this.checkMethodBodiesInParallel(program, pool);
+            }
+            else {
+                program.accept(this, null);
+            }
         }
         catch (WrappedSemanticException exception) {
             // Unpack wrapped exception and rethrow as checked exception
@@ -50,142 +86,294 @@ public class ReferenceAndExpressionTypeResolver extends
         ALLOW_SYSTEM_IN
     }
 
-    // MARK: - Traversal
+    // MARK: - Declaration Collection
 
-    @Override
-    protected void visit(Program program, Options options) {
-        for (ClassDeclaration clsDecl : program.getClassDeclarations()) {
-            clsDecl.accept(this, null);
+    // The first two passes only look at declarations, so they iterate over the members of each class directly instead
+    // of dispatching through the visitor. Method bodies are never entered.
+
+    private void collectClassMemberDeclarations(ClassDeclaration classDeclaration) {
+        this.enterClassDeclaration(classDeclaration);
+
+        for (FieldDeclaration fieldDeclaration : classDeclaration.getFieldDeclarations()) {
+            this.collectFieldDeclaration(fieldDeclaration);
+        }
+
+        for (MethodDeclaration methodDeclaration : classDeclaration.getMethodDeclarations()) {
+            this.collectMethodDeclaration(methodDeclaration);
         }
+
+        for (MainMethodDeclaration methodDeclaration : classDeclaration.getMainMethodDeclarations()) {
+            this.collectMainMethodDeclaration(methodDeclaration);
+        }
+
+        this.leaveCurrentClassDeclaration();
     }
 
-    @Override
-    protected void visit(ClassDeclaration classDeclaration, Options options) {
-        if (this.isCollectingClassDeclarations()) {
-            this.registerClassDeclaration(classDeclaration);
+    private void collectFieldDeclaration(FieldDeclaration fieldDeclaration) {
+        fieldDeclaration.getType().accept(this, null);
+
+        // Field types must not be of type void or array of void.
+        if (fieldDeclaration.getType().isVoid() || fieldDeclaration.getType().isDimensionalVoid()) {
+            throw fail(new SemanticException("Field type must not be void or array of void",
+                fieldDeclaration.toString()));
         }
-        else {
-            this.enterClassDeclaration(classDeclaration);
 
-            classDeclaration.getFieldDeclarations().forEach(node -> node.accept(this, null));
-            classDeclaration.getMethodDeclarations().forEach(node -> node.accept(this, null));
-            classDeclaration.getMainMethodDeclarations().forEach(node -> node.accept(this, null));
+        this.registerFieldDeclaration(fieldDeclaration, this.getCurrentClassDeclaration());
+    }
+
+    private void collectMethodDeclaration(MethodDeclaration methodDeclaration) {
+        this.enterMethodDeclaration(methodDeclaration);
+
+        methodDeclaration.getReturnType().accept(this, null);
+
+        // Return type must not be array of void.
+        if (methodDeclaration.getReturnType().isDimensionalVoid()) {
+            throw fail(new SemanticException("Method must not return array of void", methodDeclaration.toString()));
+        }
 
-            this.leaveCurrentClassDeclaration();
+        for (VariableDeclaration parameterDeclaration : methodDeclaration.getParameters()) {
+            this.collectParameterDeclaration(parameterDeclaration);
         }
+
+        this.leaveCurrentMethodDeclaration();
+        this.registerMethodDeclaration(methodDeclaration, this.getCurrentClassDeclaration());
     }
 
-    @Override
-    protected void visit(FieldDeclaration fieldDeclaration, Options options) {
-        if (this.isCollectingClassMemberDeclarations()) {
-            fieldDeclaration.getType().accept(this, null);
+    private void collectMainMethodDeclaration(MainMethodDeclaration methodDeclaration) {
+        this.enterMethodDeclaration(methodDeclaration);
 
-            // Field types must not be of type void or array of void.
-            if (fieldDeclaration.getType().isVoid() || fieldDeclaration.getType().isDimensionalVoid()) {
-                throw fail(new SemanticException("Field type must not be void or array of void",
-                    fieldDeclaration.toString()));
-            }
+        // Main method must be named main.
+        if (!methodDeclaration.getName().equals("main")) {
+            throw fail(new SemanticException("Entry point must be named main", methodDeclaration.toString()));
+        }
+
+        methodDeclaration.getReturnType().accept(this, null);
 
-            this.registerFieldDeclaration(fieldDeclaration, this.getCurrentClassDeclaration());
+        // Main method must return void, but AST doesn't guarantee it.
+        if (!methodDeclaration.getReturnType().isVoid()) {
+            throw fail(new SemanticException("Main method must return void", methodDeclaration.toString()));
         }
-        else {
-            this.addVariableDeclarationToCurrentScope(fieldDeclaration);
+
+        this.collectParameterDeclaration(methodDeclaration.getArgumentsParameter());
+
+        // Main method must take array of strings, but AST doesn't guarantee it.
+        if (!methodDeclaration.getArgumentsParameter().getType().isArrayOfString()) {
+            throw fail(new SemanticException("Main method expects String[] as parameter type",
+                                             methodDeclaration.toString()));
         }
+
+        this.leaveCurrentMethodDeclaration();
+
+        this.setEntryPoint(methodDeclaration);
     }
 
-    @Override
-    protected void visit(MethodDeclaration methodDeclaration, Options options) {
-        if (this.isCollectingClassMemberDeclarations()) {
-            this.enterMethodDeclaration(methodDeclaration);
+    private void collectParameterDeclaration(VariableDeclaration parameterDeclaration) {
+        parameterDeclaration.getType().accept(this, null);
 
-            methodDeclaration.getReturnType().accept(this, null);
+        // Parameter types must not be of type void or array of void.
+        if (parameterDeclaration.getType().isVoid() || parameterDeclaration.getType().isDimensionalVoid()) {
+            throw fail(new SemanticException("Method parameter type must not be void or array of void",
+                parameterDeclaration.toString()));
+        }
+    }
 
-            // Return type must not be array of void.
-            if (methodDeclaration.getReturnType().isDimensionalVoid()) {
-                throw fail(new SemanticException("Method must not return array of void", methodDeclaration.toString()));
+    // MARK: - Parallel Checking
+
+    private void checkMethodBodiesInParallel(Program program, ForkJoinPool pool) {
+        List<ClassDeclaration> classDeclarations = new ArrayList<>();
+        List<ASTNode> methodDeclarations = new ArrayList<>();
+        List<TokenLocation> locations = new ArrayList<>();
+
+        for (ClassDeclaration classDeclaration : program.getClassDeclarations()) {
+            for (MethodDeclaration methodDeclaration : classDeclaration.getMethodDeclarations()) {
+                classDeclarations.add(classDeclaration);
+                methodDeclarations.add(methodDeclaration);
+                locations.add(methodDeclaration.getLocation());
             }
 
-            methodDeclaration.getParameters().forEach(node -> node.accept(this, null));
+            for (MainMethodDeclaration methodDeclaration : classDeclaration.getMainMethodDeclarations()) {
+                classDeclarations.add(classDeclaration);
+                methodDeclarations.add(methodDeclaration);
+                locations.add(methodDeclaration.getLocation());
+            }
+        }
 
-            this.leaveCurrentMethodDeclaration();
-            this.registerMethodDeclaration(methodDeclaration, this.getCurrentClassDeclaration());
+        // Each task checks a contiguous range of methods with a single visitor. A few more tasks than threads balance
+        // out methods of different sizes.
+        int numberOfMethods = methodDeclarations.size();
+        int numberOfTasks = Math.min(numberOfMethods, 4 * pool.getParallelism());
+        RuntimeException[] exceptions = new RuntimeException[numberOfMethods];
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int task = 0; task < numberOfTasks; task += 1) {
+            int start = (int)((long)numberOfMethods * task / numberOfTasks);
+            int end = (int)((long)numberOfMethods * (task + 1) / numberOfTasks);
+
+            tasks.add(() -> {
+                this.checkMethodBodies(classDeclarations, methodDeclarations, start, end, exceptions);
+                return null;
+            });
         }
-        else {
-            this.enterMethodDeclaration(methodDeclaration);
 
-            // Parameter types are already resolved, but we need to add the variable declarations to current scope.
-            methodDeclaration.getParameters().forEach(node -> node.accept(this, null));
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            waitFor(future);
+        }
 
-            methodDeclaration.getBody().accept(this, null);
+        RuntimeException earliestException = null;
+        TokenLocation earliestLocation = null;
 
-            // Non-void methods must return a value.
-            if (!methodDeclaration.getReturnType().isVoid() && !methodDeclaration.getBody().explicitlyReturns()) {
-                throw fail(new SemanticException("Method must return a value", methodDeclaration.toString()));
-            }
+        for (int index = 0; index < numberOfMethods; index += 1) {
+            RuntimeException exception = exceptions[index];
+            TokenLocation location = locations.get(index);
 
-            // NOTE: At this point, we could also check for unreachable code in the method.
-            // However, the MiniJava language specification does not permit the rejection of programs that contain
-            // unreachable code as required by the Java specification.
+            if (exception != null && (earliestException == null || isBefore(location, earliestLocation))) {
+                earliestException = exception;
+                earliestLocation = location;
+            }
+        }
 
-            this.leaveCurrentMethodDeclaration();
+        if (earliestException != null) {
+            throw earliestException;
         }
     }
 
-    @Override
-    protected void visit(MainMethodDeclaration methodDeclaration, Options options) {
-        if (this.isCollectingClassMemberDeclarations()) {
-            this.enterMethodDeclaration(methodDeclaration);
+    /**
+     * Checks the method bodies in the given range with a single visitor and stores the exception each method failed
+     * with, if any. The fields of a class are only added to the scope once for all of its methods in the range.
+     */
+    private void checkMethodBodies(List<ClassDeclaration> classDeclarations,
+                                   List<ASTNode> methodDeclarations,
+                                   int start, int end, RuntimeException[] exceptions) {
+        ReferenceAndExpressionTypeResolver resolver = null;
+
+        for (int index = start; index < end; index += 1) {
+            ClassDeclaration classDeclaration = classDeclarations.get(index);
+
+            if (resolver != null && resolver.getCurrentClassDeclaration() != classDeclaration) {
+                resolver.leaveClassContext();
+                resolver = null;
+            }
 
-            // Main method must be named main.
-            if (!methodDeclaration.getName().equals("main")) {
-                throw fail(new SemanticException("Entry point must be named main", methodDeclaration.toString()));
+            if (resolver == null) {
+                resolver = new ReferenceAndExpressionTypeResolver(this);
+                resolver.enterClassContext(classDeclaration);
             }
 
-            methodDeclaration.getReturnType().accept(this, null);
+            try {
+                methodDeclarations.get(index).accept(resolver, null);
+            }
+            catch (RuntimeException exception) {
+                exceptions[index] = exception;
 
-            // Main method must return void, but AST doesn't guarantee it.
-            if (!methodDeclaration.getReturnType().isVoid()) {
-                throw fail(new SemanticException("Main method must return void", methodDeclaration.toString()));
+                // The visitor's scopes are left in an undefined state, so continue with a new one.
+                resolver = null;
             }
+        }
 
-            methodDeclaration.getArgumentsParameter().accept(this, null);
+        if (resolver != null) {
+            resolver.leaveClassContext();
+        }
+    }
 
-            // Main method must take array of strings, but AST doesn't guarantee it.
-            if (!methodDeclaration.getArgumentsParameter().getType().isArrayOfString()) {
-                throw fail(new SemanticException("Main method expects String[] as parameter type",
-                                                 methodDeclaration.toString()));
-            }
+    private void enterClassContext(ClassDeclaration classDeclaration) {
+        this.enterNewVariableDeclarationScope();
+        this.enterClassDeclaration(classDeclaration);
+
+        classDeclaration.getFieldDeclarations().forEach(node -> node.accept(this, null));
+    }
+
+    private void leaveClassContext() {
+        this.leaveCurrentClassDeclaration();
+        this.leaveCurrentVariableDeclarationScope();
+    }
 
-            this.leaveCurrentMethodDeclaration();
+    private static void waitFor(Future<Void> future) {
+        try {
+            future.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+        catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
 
-            this.setEntryPoint(methodDeclaration);
+    /// Locations are only missing in programs that were not created by the parser. Those keep declaration order.
+    private static boolean isBefore(TokenLocation location, TokenLocation other) {
+        if (location == null || other == null) {
+            return false;
+        }
+        else if (location.getRow() != other.getRow()) {
+            return location.getRow() < other.getRow();
         }
         else {
-            this.enterMethodDeclaration(methodDeclaration);
-
-            // Parameter types are already resolved, but we need to add the variable declarations to current scope.
-            methodDeclaration.getArgumentsParameter().accept(this, null);
+            return location.getColumn() < other.getColumn();
+        }
+    }
 
-            methodDeclaration.getBody().accept(this, null);
+    // MARK: - Traversal
 
-            this.leaveCurrentMethodDeclaration();
+    @Override
+    protected void visit(Program program, Options options) {
+        for (ClassDeclaration clsDecl : program.getClassDeclarations()) {
+            clsDecl.accept(this, null);
         }
     }
 
     @Override
-    protected void visit(ParameterDeclaration parameterDeclaration, Options options) {
-        if (this.isCollectingClassMemberDeclarations()) {
-            parameterDeclaration.getType().accept(this, null);
+    protected void visit(ClassDeclaration classDeclaration, Options options) {
+        this.enterClassDeclaration(classDeclaration);
 
-            // Parameter types must not be of type void or array of void.
-            if (parameterDeclaration.getType().isVoid() || parameterDeclaration.getType().isDimensionalVoid()) {
-                throw fail(new SemanticException("Method parameter type must not be void or array of void",
-                    parameterDeclaration.toString()));
-            }
-        }
-        else {
-            this.addVariableDeclarationToCurrentScope(parameterDeclaration);
+        classDeclaration.getFieldDeclarations().forEach(node -> node.accept(this, null));
+        classDeclaration.getMethodDeclarations().forEach(node -> node.accept(this, null));
+        classDeclaration.getMainMethodDeclarations().forEach(node -> node.accept(this, null));
+
+        this.leaveCurrentClassDeclaration();
+    }
+
+    @Override
+    protected void visit(FieldDeclaration fieldDeclaration, Options options) {
+        this.addVariableDeclarationToCurrentScope(fieldDeclaration);
+    }
+
+    @Override
+    protected void visit(MethodDeclaration methodDeclaration, Options options) {
+        this.enterMethodDeclaration(methodDeclaration);
+
+        // Parameter types are already resolved, but we need to add the variable declarations to current scope.
+        methodDeclaration.getParameters().forEach(node -> node.accept(this, null));
+
+        methodDeclaration.getBody().accept(this, null);
+
+        // Non-void methods must return a value.
+        if (!methodDeclaration.getReturnType().isVoid() && !methodDeclaration.getBody().explicitlyReturns()) {
+            throw fail(new SemanticException("Method must return a value", methodDeclaration.toString()));
         }
+
+        // NOTE: At this point, we could also check for unreachable code in the method.
+        // However, the MiniJava language specification does not permit the rejection of programs that contain
+        // unreachable code as required by the Java specification.
+
+        this.leaveCurrentMethodDeclaration();
+    }
+
+    @Override
+    protected void visit(MainMethodDeclaration methodDeclaration, Options options) {
+        this.enterMethodDeclaration(methodDeclaration);
+
+        // Parameter types are already resolved, but we need to add the variable declarations to current scope.
+        methodDeclaration.getArgumentsParameter().accept(this, null);
+
+        methodDeclaration.getBody().accept(this, null);
+
+        this.leaveCurrentMethodDeclaration();
+    }
+
+    @Override
+    protected void visit(ParameterDeclaration parameterDeclaration, Options options) {
+        this.addVariableDeclarationToCurrentScope(parameterDeclaration);
     }
 
     @Override
@@ -491,11 +679,11 @@ public class ReferenceAndExpressionTypeResolver extends
                 // Move unary minus into the integer literal node itself
 
                 // Check for correct AST structure first
-                assert this.getPreviousNode(2).isPresent();
-                ASTNode outerNode = this.getPreviousNode(2).get();
+                ASTNode outerNode = this.getPreviousNodeOrNull(2);
+                assert outerNode != null;
 
-                assert this.getPreviousNode().get() instanceof Expression.UnaryOperation;
-                Expression.UnaryOperation unaryOp = (Expression.UnaryOperation) this.getPreviousNode().get();
+                assert this.getPreviousNodeOrNull(1) instanceof Expression.UnaryOperation;
+                Expression.UnaryOperation unaryOp = (Expression.UnaryOperation) this.getPreviousNodeOrNull(1);
                 assert unaryOp.getOperationType().equals(
                     UnaryOperationType.NUMERIC_NEGATION);
 
@@ -539,7 +727,8 @@ public class ReferenceAndExpressionTypeResolver extends
         expression.getArguments().forEach(node -> node.accept(this, null));
 
         String methodName = expression.getMethodReference().getName();
-        Optional<MethodDeclaration> methodDeclaration;
+        int methodNameID = expression.getMethodReference().getNameID();
+        MethodDeclaration methodDeclaration;
 
         if (expression.getContext().isPresent()) {
             TypeOfExpression typeOfContext = expression.getContext().get().getType();
@@ -615,9 +804,9 @@ public class ReferenceAndExpressionTypeResolver extends
                         throw new AssertionError();
                 }
 
-                assert this.getPreviousNode().isPresent();
+                assert this.getPreviousNodeOrNull(1) != null;
 
-                this.getPreviousNode().get().substituteExpression(expression, replacement);
+                this.getPreviousNodeOrNull(1).substituteExpression(expression, replacement);
 
                 return;
             }
@@ -642,7 +831,8 @@ public class ReferenceAndExpressionTypeResolver extends
                     this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
             }
 
-            methodDeclaration = this.getMethodDeclarationForName(methodName, (ClassDeclaration)typeDeclaration);
+            methodDeclaration = this.getMethodDeclarationForNameOrNull(methodName, methodNameID,
+                (ClassDeclaration)typeDeclaration);
         }
         else {
             // Must not invoke methods in static context.
@@ -651,23 +841,24 @@ public class ReferenceAndExpressionTypeResolver extends
                     this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
             }
 
-            methodDeclaration = this.getMethodDeclarationForName(methodName, this.getCurrentClassDeclaration());
+            methodDeclaration = this.getMethodDeclarationForNameOrNull(methodName, methodNameID,
+                this.getCurrentClassDeclaration());
         }
 
         // Method reference must be resolvable.
-        if (!methodDeclaration.isPresent()) {
+        if (methodDeclaration == null) {
             throw fail(new SemanticException("Use of undeclared method '" + methodName + "'",
                 this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
         }
 
         List<TypeOfExpression> typesOfArguments = expression.getArgumentTypes();
-        List<TypeReference> typesOfParameters = methodDeclaration.get().getParameterTypes();
+        List<TypeReference> typesOfParameters = methodDeclaration.getParameterTypes();
 
         // Number of arguments must match.
         if (typesOfArguments.size() != typesOfParameters.size()) {
             throw fail(new SemanticException("Received incorrect number of arguments"
                 + " (" + typesOfArguments.size() + " instead of " + typesOfParameters.size() + ")"
-                + " for call to method '" + methodDeclaration.get().getName() + "'",
+                + " for call to method '" + methodDeclaration.getName() + "'",
                 this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
         }
 
@@ -677,15 +868,15 @@ public class ReferenceAndExpressionTypeResolver extends
             if (!canAssignTypeOfExpressionToTypeReference(typesOfArguments.get(index), typesOfParameters.get(index))) {
                 throw fail(new TypeMismatchException(typesOfArguments.get(index).toString(),
                     expression.getLocation(),
-                    "method argument '" + methodDeclaration.get().getParameters().get(index).getName() + "'"
-                    + " for method '" + methodDeclaration.get().getName() + "'",
+                    "method argument '" + methodDeclaration.getParameters().get(index).getName() + "'"
+                    + " for method '" + methodDeclaration.getName() + "'",
                     this.getCurrentMethodDeclaration().toString(),
                     typesOfParameters.get(index).getBasicTypeReference().getDeclaration().getName()));
             }
         }
 
-        expression.getMethodReference().resolveTo(methodDeclaration.get());
-        expression.getType().resolveToTypeReference(methodDeclaration.get().getReturnType(), false);
+        expression.getMethodReference().resolveTo(methodDeclaration);
+        expression.getType().resolveToTypeReference(methodDeclaration.getReturnType(), false);
     }
 
     @Override
@@ -730,16 +921,18 @@ public class ReferenceAndExpressionTypeResolver extends
 
         String fieldName = expression.getFieldReference().getName();
         ClassDeclaration classDeclaration = (ClassDeclaration)typeDeclaration;
-        Optional<FieldDeclaration> fieldDeclaration = this.getFieldDeclarationForName(fieldName, classDeclaration);
+        int fieldNameID = expression.getFieldReference().getNameID();
+        FieldDeclaration fieldDeclaration
+            = this.getFieldDeclarationForNameOrNull(fieldName, fieldNameID, classDeclaration);
 
         // Field reference must be resolvable.
-        if (!fieldDeclaration.isPresent()) {
+        if (fieldDeclaration == null) {
             throw fail(new SemanticException("Use of undeclared field '" + fieldName + "'",
                 this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
         }
 
-        expression.getFieldReference().resolveTo(fieldDeclaration.get());
-        expression.getType().resolveToVariableDeclaration(fieldDeclaration.get());
+        expression.getFieldReference().resolveTo(fieldDeclaration);
+        expression.getType().resolveToVariableDeclaration(fieldDeclaration);
     }
 
     @Override
@@ -776,9 +969,10 @@ public class ReferenceAndExpressionTypeResolver extends
     @Override
     protected void visit(Expression.VariableAccess expression, Options options) {
         String name = expression.getVariableReference().getName();
-        Optional<VariableDeclaration> variableDeclaration = this.getVariableDeclarationForName(name);
+        int nameID = expression.getVariableReference().getNameID();
+        VariableDeclaration variableDeclaration = this.getVariableDeclarationForNameOrNull(name, nameID);
 
-        if (!variableDeclaration.isPresent()) {
+        if (variableDeclaration == null) {
             // Check for classes that might shadow global declarations.
             // If we found a class, we can reject the program as it cannot have static fields or be
             // accessed as a reference.
@@ -789,7 +983,7 @@ public class ReferenceAndExpressionTypeResolver extends
         }
 
         // Variable reference must be resolvable.
-        if (!variableDeclaration.isPresent()) {
+        if (variableDeclaration == null) {
 
             // If we found a valid `System` reference, return without resolving type (we can't). Parent node is prepared
             // to deal with expression of unresolved type.
@@ -802,23 +996,23 @@ public class ReferenceAndExpressionTypeResolver extends
         }
 
         // Variable must be accessible. arguments parameter for main method is not accessible.
-        if (!variableDeclaration.get().canBeAccessed()) {
+        if (!variableDeclaration.canBeAccessed()) {
             throw fail(new SemanticException("Variable '"
-                + variableDeclaration.get().getName() + "' may not be accessed",
+                + variableDeclaration.getName() + "' may not be accessed",
                 this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
         }
 
         // Check whether we are trying to access a field (which is always non-static since we do not support
         // static fields) from a static context.
         if (this.getCurrentMethodDeclaration() instanceof MainMethodDeclaration
-            && variableDeclaration.get() instanceof FieldDeclaration) {
+            && variableDeclaration instanceof FieldDeclaration) {
             throw fail(new SemanticException("Cannot access non-static field "
-                + variableDeclaration.get().getName() + " from static context",
+                + variableDeclaration.getName() + " from static context",
                 this.getCurrentMethodDeclaration().toString(), expression.getLocation()));
         }
 
-        expression.getVariableReference().resolveTo(variableDeclaration.get());
-        expression.getType().resolveToVariableDeclaration(variableDeclaration.get());
+        expression.getVariableReference().resolveTo(variableDeclaration);
+        expression.getType().resolveToVariableDeclaration(variableDeclaration);
     }
 
     @Override
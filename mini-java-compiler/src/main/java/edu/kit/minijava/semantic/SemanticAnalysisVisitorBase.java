@@ -2,11 +2,32 @@ package edu.kit.minijava.semantic;
 
 import edu.kit.minijava.ast.nodes.*;
 import edu.kit.minijava.ast.references.*;
+import edu.kit.minijava.lexer.*;
 
 import java.util.*;
 
 abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
-    SemanticAnalysisVisitorBase() {
+    SemanticAnalysisVisitorBase(NameTable nameTable) {
+        this.symbolTable = new SymbolTable(nameTable);
+        this.classDeclarations = new HashMap<>();
+        this.methodDeclarations = new HashMap<>();
+        this.fieldDeclarations = new HashMap<>();
+    }
+
+    /**
+     * Creates a visitor that shares the collected class and member declarations with the given one, but has its own
+     * scopes. The declarations must not be modified anymore.
+     */
+    SemanticAnalysisVisitorBase(SemanticAnalysisVisitorBase<?> other) {
+        assert !other.isCollectingClassDeclarations() && !other.isCollectingClassMemberDeclarations();
+
+        this.symbolTable = new SymbolTable(other.symbolTable.getNameTable());
+        this.currentTraversalNumber = other.currentTraversalNumber;
+        this.entryPoint = other.entryPoint;
+        this.classDeclarations = other.classDeclarations;
+        this.methodDeclarations = other.methodDeclarations;
+        this.fieldDeclarations = other.fieldDeclarations;
+        this.memberIndex = other.memberIndex;
     }
 
 
@@ -30,9 +51,11 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
         return this.currentTraversalNumber == 1;
     }
 
-    void finishCollectingClassMemberDeclarations() {
+    /** Builds the member index of the program, whose members must all have been collected. */
+    void finishCollectingClassMemberDeclarations(Program program) {
         assert this.isCollectingClassMemberDeclarations();
 
+        this.memberIndex = new MemberIndex(program);
         this.currentTraversalNumber += 1;
     }
 
@@ -99,7 +122,7 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
 
     // MARK: - Variable Reference Resolution
 
-    private final SymbolTable symbolTable = new SymbolTable();
+    private final SymbolTable symbolTable;
 
     void enterNewVariableDeclarationScope() {
         this.symbolTable.enterNewScope();
@@ -110,9 +133,12 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
      * and its declaration can't be shadowed.
      */
     void addVariableDeclarationToCurrentScope(VariableDeclaration declaration) {
-        this.symbolTable.getVisibleDeclarationForName(declaration.getName()).ifPresent(previousDeclaration -> {
+        VariableDeclaration previousDeclaration
+            = this.symbolTable.getVisibleDeclaration(declaration.getName(), declaration.getNameID());
+
+        if (previousDeclaration != null) {
 
-            if (this.symbolTable.isDeclarationInCurrentScope(declaration)) {
+            if (this.symbolTable.isDeclaredInCurrentScope(declaration.getName(), declaration.getNameID())) {
                 throw fail(new RedeclarationException(declaration.getName(),
                     declaration.getLocation(), previousDeclaration));
             }
@@ -122,13 +148,17 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
                     declaration.getLocation(), previousDeclaration,
                     "cannot shadow previous declaration"));
             }
-        });
+        }
 
         this.symbolTable.enterDeclaration(declaration);
     }
 
-    Optional<VariableDeclaration> getVariableDeclarationForName(String name) {
-        return this.symbolTable.getVisibleDeclarationForName(name);
+    /**
+     * Returns the visible variable declaration with the given name, or null if there is none. The name ID may be
+     * {@link NameTable#NO_ID}.
+     */
+    VariableDeclaration getVariableDeclarationForNameOrNull(String name, int nameID) {
+        return this.symbolTable.getVisibleDeclaration(name, nameID);
     }
 
     void leaveCurrentVariableDeclarationScope() {
@@ -138,9 +168,12 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
 
     // MARK: - Method and Field Reference Resolution
 
-    private final Map<String, ClassDeclaration> classDeclarations = new HashMap<>();
-    private final Map<ClassDeclaration, Map<String, MethodDeclaration>> methodDeclarations = new HashMap<>();
-    private final Map<ClassDeclaration, Map<String, FieldDeclaration>> fieldDeclarations = new HashMap<>();
+    private final Map<String, ClassDeclaration> classDeclarations;
+    private final Map<ClassDeclaration, Map<String, MethodDeclaration>> methodDeclarations;
+    private final Map<ClassDeclaration, Map<String, FieldDeclaration>> fieldDeclarations;
+
+    /// Used for lookups once all members have been collected. The maps above are only used to detect redeclarations.
+    private MemberIndex memberIndex = null;
 
     void registerClassDeclaration(ClassDeclaration classDeclaration) {
         ClassDeclaration previousDeclaration = this.classDeclarations.get(classDeclaration.getName());
@@ -201,12 +234,18 @@ abstract class SemanticAnalysisVisitorBase<T> extends ASTVisitor<T> {
         return Optional.ofNullable(this.classDeclarations.get(name));
     }
 
-    Optional<MethodDeclaration> getMethodDeclarationForName(String name, ClassDeclaration container) {
-        return Optional.ofNullable(this.methodDeclarations.get(container).get(name));
+    /** The name ID may be {@link NameTable#NO_ID}. */
+    MethodDeclaration getMethodDeclarationForNameOrNull(String name, int nameID, ClassDeclaration container) {
+        assert this.memberIndex != null : "members have not been collected yet";
+
+        return this.memberIndex.getMethodDeclarationOrNull(container, name, nameID);
     }
 
-    Optional<FieldDeclaration> getFieldDeclarationForName(String name, ClassDeclaration container) {
-        return Optional.ofNullable(this.fieldDeclarations.get(container).get(name));
+    /** The name ID may be {@link NameTable#NO_ID}. */
+    FieldDeclaration getFieldDeclarationForNameOrNull(String name, int nameID, ClassDeclaration container) {
+        assert this.memberIndex != null : "members have not been collected yet";
+
+        return this.memberIndex.getFieldDeclarationOrNull(container, name, nameID);
     }
 
 
@@ -3,95 +3,123 @@ package edu.kit.minijava.semantic;
 import java.util.*;
 
 import edu.kit.minijava.ast.nodes.VariableDeclaration;
+import edu.kit.minijava.lexer.NameTable;
 
+/**
+ * A scoped table of the visible variable declarations, indexed by the IDs of their names in the program's name table.
+ * Entering a declaration records the declaration it shadows in an undo log, which is replayed when its scope is left.
+ * Lookups and entering declarations do not allocate.
+ */
 class SymbolTable {
 
-    private final HashMap<String, VariableScopesAndDeclarations> nameToDeclarations = new HashMap<>();
-    private final HashMap<Integer, Set<String>> scopeToNames = new HashMap<>();
+    SymbolTable(NameTable nameTable) {
+        if (nameTable == null) throw new IllegalArgumentException();
 
-    public SymbolTable() {
-        this.currentScope = 0;
+        this.names = new NameIDs(nameTable);
     }
 
-    private int currentScope;
+    private final NameIDs names;
+
+    NameTable getNameTable() {
+        return this.names.getNameTable();
+    }
+
+    private int currentScope = 0;
+
+    // MARK: - Current Declarations
+
+    /// The visible declaration for each name ID, or null, and the scope it was declared in. The arrays only grow up to
+    /// the highest ID declared so far, as most names of a program are never declared in a single method.
+    private VariableDeclaration[] declarations = new VariableDeclaration[16];
+    private int[] scopes = new int[16];
+
+    // MARK: - Undo Log
+
+    /// For each declaration entered, the name ID and the declaration and scope it replaced.
+    private int[] loggedIDs = new int[64];
+    private VariableDeclaration[] loggedDeclarations = new VariableDeclaration[64];
+    private int[] loggedScopes = new int[64];
+    private int logSize = 0;
+
+    /// The size of the log when each of the current scopes was entered, indexed by scope.
+    private int[] scopeStarts = new int[16];
+
+
+    // MARK: - Scopes
 
     void enterNewScope() {
         this.currentScope++;
+
+        if (this.currentScope == this.scopeStarts.length) {
+            this.scopeStarts = Arrays.copyOf(this.scopeStarts, 2 * this.scopeStarts.length);
+        }
+
+        this.scopeStarts[this.currentScope] = this.logSize;
     }
 
     void leaveCurrentScope() {
         assert this.currentScope > 0 : "left more scopes than entered";
 
-        Set<String> definedVars = this.scopeToNames.get(this.currentScope);
+        int start = this.scopeStarts[this.currentScope];
 
-        if (definedVars != null) {
-
-            for (String var : definedVars) {
-                VariableScopesAndDeclarations scope = this.nameToDeclarations.get(var);
-                scope.removeScope(this.currentScope);
-
-                if (scope.isEmpty()) {
-                    this.nameToDeclarations.remove(var);
-                }
-            }
-
-            // remove entry from map
-            this.scopeToNames.remove(this.currentScope);
+        while (this.logSize > start) {
+            this.logSize--;
 
+            int id = this.loggedIDs[this.logSize];
+            this.declarations[id] = this.loggedDeclarations[this.logSize];
+            this.scopes[id] = this.loggedScopes[this.logSize];
+            this.loggedDeclarations[this.logSize] = null;
         }
 
         this.currentScope--;
-
     }
 
+
+    // MARK: - Declarations
+
     void enterDeclaration(VariableDeclaration declaration) {
-        String name = declaration.getName();
+        int id = this.names.get(declaration.getName(), declaration.getNameID());
 
-        // add name to scopeToNames
-        if (this.scopeToNames.containsKey(this.currentScope)) {
-            this.scopeToNames.get(this.currentScope).add(name);
-        }
-        else {
-            HashSet<String> set = new HashSet<>();
-            set.add(name);
-            this.scopeToNames.put(this.currentScope, set);
+        if (id >= this.declarations.length) {
+            int length = Math.max(2 * this.declarations.length, id + 1);
+
+            this.declarations = Arrays.copyOf(this.declarations, length);
+            this.scopes = Arrays.copyOf(this.scopes, length);
         }
 
-        //add declaration
-        if (this.nameToDeclarations.containsKey(name)) {
-            VariableScopesAndDeclarations scope = this.nameToDeclarations.get(name);
-            scope.addVariableDeclaration(declaration, this.currentScope);
+        if (this.logSize == this.loggedIDs.length) {
+            this.loggedIDs = Arrays.copyOf(this.loggedIDs, 2 * this.logSize);
+            this.loggedDeclarations = Arrays.copyOf(this.loggedDeclarations, 2 * this.logSize);
+            this.loggedScopes = Arrays.copyOf(this.loggedScopes, 2 * this.logSize);
         }
 
-        // name is not in map
-        else {
-            VariableScopesAndDeclarations scope = new VariableScopesAndDeclarations(declaration, this.currentScope);
-            this.nameToDeclarations.put(name, scope);
+        this.loggedIDs[this.logSize] = id;
+        this.loggedDeclarations[this.logSize] = this.declarations[id];
+        this.loggedScopes[this.logSize] = this.scopes[id];
+        this.logSize++;
 
-        }
+        this.declarations[id] = declaration;
+        this.scopes[id] = this.currentScope;
     }
 
-    Optional<VariableDeclaration> getVisibleDeclarationForName(String name) {
+    /** Returns the visible declaration for the given name, or null if there is none. */
+    VariableDeclaration getVisibleDeclaration(String name, int nameID) {
+        int id = this.names.find(name, nameID);
 
-        if (this.nameToDeclarations.containsKey(name)) {
-            VariableDeclaration declaration = this.nameToDeclarations.get(name).getLastDeclaration();
-            return Optional.of(declaration);
-        }
-        else {
-            return Optional.empty();
+        if (id == NameTable.NO_ID || id >= this.declarations.length) {
+            return null;
         }
 
+        return this.declarations[id];
     }
 
-    boolean isDeclarationInCurrentScope(VariableDeclaration declaration) {
-        String name = declaration.getName();
-        Set<String> definedVars = this.scopeToNames.get(this.currentScope);
+    boolean isDeclaredInCurrentScope(String name, int nameID) {
+        int id = this.names.find(name, nameID);
 
-        if (definedVars == null) {
+        if (id == NameTable.NO_ID || id >= this.declarations.length) {
             return false;
         }
-        else {
-            return definedVars.contains(name);
-        }
+
+        return this.declarations[id] != null && this.scopes[id] == this.currentScope;
     }
 }
@@ -6,6 +6,15 @@ import firm.nodes.*;
 
 import java.util.*;
 
+/**
+ * Folds constants using sparse conditional constant propagation. Along with the value of each node, the propagation
+ * tracks which blocks and control flow edges can be executed, assuming none can until proven otherwise. Nodes in blocks
+ * that are not executable are not evaluated, and Phis ignore the values that flow along edges that are not executable.
+ * Afterwards, constant nodes are replaced, constant conditional jumps are folded and edges that are never executed are
+ * removed together with the blocks that become unreachable.
+ *
+ * Control flow nodes and blocks use the same lattice as values: they are executable iff their value is not undefined.
+ */
 public class ConstantFolder extends ConstantFolderBase {
     ConstantFolder(Graph graph, boolean beVerbose) {
         super(graph);
@@ -18,6 +27,8 @@ public class ConstantFolder extends ConstantFolderBase {
 
         this.debugLog();
 
+        List<Edge> deadEdges = this.getDeadEdges();
+
 
         for (Node node : this.getTopologicalOrdering()) {
             TargetValue value = this.getValueForNode(node);
@@ -28,6 +39,11 @@ public class ConstantFolder extends ConstantFolderBase {
                 continue;
             }
 
+            // The value of a Cond is the value of its selector, which is replaced instead.
+            if (node instanceof Cond) {
+                continue;
+            }
+
             if (value.isConstant()) {
                 Node memoryBeforeOperation = this.getMemoryUsedByOperation(node).orElse(null);
                 Const replacement = (Const)graph.newConst(value);
@@ -117,6 +133,15 @@ public class ConstantFolder extends ConstantFolderBase {
             }
         }
 
+        // Remove the remaining edges that are never executed. Edges of Cond nodes that have been folded above have
+        // already been replaced.
+        for (Edge edge : deadEdges) {
+            if (edge.block.getPred(edge.index).equals(edge.predecessor)) {
+                edge.block.setPred(edge.index, graph.newBad(Mode.getX()));
+                this.hasModifiedGraph = true;
+            }
+        }
+
         construction.finish();
 
         firm.bindings.binding_irgopt.remove_bads(graph.ptr);
@@ -145,17 +170,93 @@ public class ConstantFolder extends ConstantFolderBase {
             this.resultOfLastVisitedNode = null;
 
             Node node = this.removeElementFromWorklist();
-            node.accept(this);
+
+            // Nodes keep their optimistic value until their block is known to be executable.
+            if (node instanceof Block || this.isExecutable(node.getBlock())) {
+                node.accept(this);
+            }
+            else {
+                this.resultOfLastVisitedNode = UNDEFINED;
+            }
 
             assert this.resultOfLastVisitedNode != null;
 
-            // If a change was made, make sure to revisit affected edges.
+            // If a change was made, make sure to revisit affected edges. This includes the nodes in a block that has
+            // become executable.
             if (this.setValueForNode(node, this.resultOfLastVisitedNode)) {
                 for (BackEdges.Edge edge : BackEdges.getOuts(node)) {
                     this.addElementToWorklist(edge.node);
                 }
             }
+
+            // A block is revisited whenever one of its incoming edges changes. Its Phis depend on which of these edges
+            // are executable, so they must be revisited even if the block itself was executable already.
+            if (node instanceof Block) {
+                for (BackEdges.Edge edge : BackEdges.getOuts(node)) {
+                    if (edge.node instanceof Phi) {
+                        this.addElementToWorklist(edge.node);
+                    }
+                }
+            }
+        }
+    }
+
+
+    // MARK: - Control Flow
+
+    /// An incoming edge of a block.
+    private static final class Edge {
+        Edge(Block block, int index, Node predecessor) {
+            this.block = block;
+            this.index = index;
+            this.predecessor = predecessor;
         }
+
+        private final Block block;
+        private final int index;
+        private final Node predecessor;
+    }
+
+    private boolean isExecutable(Node controlFlowNodeOrBlock) {
+        return this.getValueForNode(controlFlowNodeOrBlock) != UNDEFINED;
+    }
+
+    private List<Edge> getDeadEdges() {
+        List<Edge> edges = new ArrayList<>();
+
+        for (Node node : this.getTopologicalOrdering()) {
+            if (!(node instanceof Block)) continue;
+
+            Block block = (Block)node;
+
+            for (int index = 0; index < block.getPredCount(); index += 1) {
+                if (!this.isExecutable(block.getPred(index))) {
+                    edges.add(new Edge(block, index, block.getPred(index)));
+                }
+            }
+        }
+
+        return edges;
+    }
+
+    @Override
+    public void visit(Block block) {
+        this.resultOfLastVisitedNode = UNDEFINED;
+
+        if (block.equals(block.getGraph().getStartBlock())) {
+            this.resultOfLastVisitedNode = NOT_A_CONSTANT;
+        }
+
+        for (Node predecessor : block.getPreds()) {
+            if (this.isExecutable(predecessor)) {
+                this.resultOfLastVisitedNode = NOT_A_CONSTANT;
+            }
+        }
+    }
+
+    @Override
+    public void visit(Cond node) {
+        this.resultOfLastVisitedNode = this.getValueForNode(node.getSelector());
     }
 
     private Optional<Node> getMemoryUsedByOperation(Node node) {
@@ -302,6 +403,19 @@ public class ConstantFolder extends ConstantFolderBase {
         if (projection.getMode().equals(Mode.getM())) {
             this.defaultVisit(projection);
         }
+        else if (projection.getPred() instanceof Cond) {
+            TargetValue condition = this.getValueForNode(projection.getPred());
+
+            // Only the edge that is selected by a constant condition can be executed.
+            if (condition.isConstant()) {
+                boolean isTaken = condition.equals(TargetValue.getBTrue()) == (projection.getNum() == Cond.pnTrue);
+
+                this.resultOfLastVisitedNode = isTaken ? NOT_A_CONSTANT : UNDEFINED;
+            }
+            else {
+                this.resultOfLastVisitedNode = condition;
+            }
+        }
         else {
             this.resultOfLastVisitedNode = this.getValueForNode(projection.getPred());
         }
@@ -309,12 +423,14 @@ public class ConstantFolder extends ConstantFolderBase {
 
     @Override
     public void visit(Phi node) {
+        Node block = node.getBlock();
         TargetValue result = UNDEFINED;
 
-        for (Node predecessor : node.getPreds()) {
-            TargetValue value = this.getValueForNode(predecessor);
-
-            result = join(result, value);
+        // Ignore the values that flow along edges that are never executed.
+        for (int index = 0; index < node.getPredCount(); index += 1) {
+            if (this.isExecutable(block.getPred(index))) {
+                result = join(result, this.getValueForNode(node.getPred(index)));
+            }
         }
 
         this.resultOfLastVisitedNode = result;
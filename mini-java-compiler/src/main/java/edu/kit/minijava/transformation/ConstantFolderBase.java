@@ -1,6 +1,8 @@
 package edu.kit.minijava.transformation;
 
 import firm.*;
+import firm.bindings.binding_irgraph;
+import firm.bindings.binding_irnode;
 import firm.nodes.*;
 import org.jetbrains.annotations.*;
 
@@ -12,16 +14,38 @@ abstract class ConstantFolderBase extends NodeVisitor.Default {
         NodeCollector collector = new NodeCollector();
         graph.walkTopological(collector);
 
+        int numberOfIndices = binding_irgraph.get_irg_last_idx(graph.ptr);
+
         this.topologicalOrdering = Collections.unmodifiableList(collector.getNodes());
         this.worklist = new ArrayDeque<>(collector.getNodes());
+        this.nodesInWorklist = new BitSet(numberOfIndices);
+        this.values = new TargetValue[numberOfIndices];
+
+        for (Node node : collector.getNodes()) {
+            this.nodesInWorklist.set(getIndex(node));
+        }
     }
 
     private final List<Node> topologicalOrdering;
+
+    // Nodes are identified by their indices, which Firm assigns densely per graph. This makes checking whether a node
+    // is in the worklist and looking up its value constant-time operations.
     private final Queue<Node> worklist;
-    private final Map<Node, TargetValue> values = new HashMap<>();
+    private final BitSet nodesInWorklist;
+    private TargetValue[] values;
+
+    private static int getIndex(Node node) {
+        return binding_irnode.get_irn_idx(node.ptr);
+    }
 
     TargetValue getValueForNode(Node node) {
-        return Optional.ofNullable(this.values.get(node)).orElse(UNDEFINED);
+        int index = getIndex(node);
+
+        if (index >= this.values.length || this.values[index] == null) {
+            return UNDEFINED;
+        }
+
+        return this.values[index];
     }
 
     /**
@@ -42,7 +66,14 @@ abstract class ConstantFolderBase extends NodeVisitor.Default {
 
         // System.out.println(describe(oldValue) + " ⊔ " + describe(value) + " = " + describe(newValue) + "\t" + node);
 
-        this.values.put(node, newValue);
+        int index = getIndex(node);
+
+        // Nodes created after the folder was set up get indices past the end of the array.
+        if (index >= this.values.length) {
+            this.values = Arrays.copyOf(this.values, Math.max(2 * this.values.length, index + 1));
+        }
+
+        this.values[index] = newValue;
 
         return !oldValue.equals(newValue);
     }
@@ -52,11 +83,17 @@ abstract class ConstantFolderBase extends NodeVisitor.Default {
     }
 
     Node removeElementFromWorklist() {
-        return this.worklist.remove();
+        Node node = this.worklist.remove();
+        this.nodesInWorklist.clear(getIndex(node));
+
+        return node;
     }
 
     void addElementToWorklist(Node node) {
-        if (!this.worklist.contains(node)) {
+        int index = getIndex(node);
+
+        if (!this.nodesInWorklist.get(index)) {
+            this.nodesInWorklist.set(index);
             this.worklist.add(node);
         }
     }
@@ -66,8 +103,8 @@ abstract class ConstantFolderBase extends NodeVisitor.Default {
     }
 
     void debugLog() {
-        for (Node node : this.values.keySet()) {
-            TargetValue value = this.values.get(node);
+        for (Node node : this.topologicalOrdering) {
+            TargetValue value = this.getValueForNode(node);
 
             if (value.isConstant() && !(node instanceof Const)) {
                 // System.out.println(node + ": " + value);
@@ -0,0 +1,125 @@
+package edu.kit.minijava.transformation;
+
+import firm.*;
+import firm.bindings.binding_irnode;
+import firm.nodes.*;
+
+import java.util.*;
+
+/**
+ * Removes the nodes of a graph whose values are never used. A node is live if it has an effect, i.e. it is a control
+ * flow node, a store, a call or a return, or if it is used by a live node. All other nodes are removed. This includes
+ * cycles of Phis that are only kept alive by the end node, e.g. loop counters whose final value is never used.
+ *
+ * Loads, divisions and modulo operations whose results are unused are removed from the memory chain first. Like the
+ * constant folder, we treat the outcome of dividing by zero as undefined, and so is dereferencing null.
+ */
+public class DeadNodeEliminator {
+    DeadNodeEliminator(Graph graph) {
+        BackEdges.enable(graph);
+
+        NodeCollector collector = new NodeCollector();
+        graph.walkTopological(collector);
+
+        for (Node node : collector.getNodes()) {
+            if (node instanceof Load || node instanceof Div || node instanceof Mod) {
+                this.removeFromMemoryChainIfUnused(node);
+            }
+        }
+
+        Set<Node> liveNodes = findLiveNodes(collector.getNodes());
+        End end = graph.getEnd();
+        Set<Node> keepalives = new HashSet<>();
+
+        for (Node keepalive : end.getPreds()) {
+            keepalives.add(keepalive);
+        }
+
+        for (Node node : collector.getNodes()) {
+            if (liveNodes.contains(node) || isAnchored(node)) continue;
+
+            if (keepalives.contains(node)) {
+                binding_irnode.remove_End_keepalive(end.ptr, node.ptr);
+            }
+
+            Graph.killNode(node);
+            this.hasModifiedGraph = true;
+        }
+
+        BackEdges.disable(graph);
+    }
+
+    private boolean hasModifiedGraph = false;
+
+    public boolean hasModifiedGraph() {
+        return this.hasModifiedGraph;
+    }
+
+    private void removeFromMemoryChainIfUnused(Node operation) {
+        Node memory = operation.getPred(0);
+        List<Node> memoryProjections = new ArrayList<>();
+
+        for (BackEdges.Edge edge : BackEdges.getOuts(operation)) {
+            Node projection = edge.node;
+
+            if (projection.getMode().equals(Mode.getM())) {
+                memoryProjections.add(projection);
+            }
+            else if (BackEdges.getNOuts(projection) > 0) {
+                return;
+            }
+        }
+
+        for (Node projection : memoryProjections) {
+            Graph.exchange(projection, memory);
+            this.hasModifiedGraph = true;
+        }
+    }
+
+    private static Set<Node> findLiveNodes(List<Node> nodes) {
+        Set<Node> liveNodes = new HashSet<>();
+        Deque<Node> worklist = new ArrayDeque<>();
+
+        for (Node node : nodes) {
+            if (hasEffect(node) && liveNodes.add(node)) {
+                worklist.add(node);
+            }
+        }
+
+        while (!worklist.isEmpty()) {
+            Node node = worklist.remove();
+
+            // The end node only keeps blocks alive, values it keeps alive are live only if something else uses them.
+            boolean isEnd = node instanceof End;
+
+            for (Node predecessor : node.getPreds()) {
+                if (isEnd && !(predecessor instanceof Block)) continue;
+
+                if (liveNodes.add(predecessor)) {
+                    worklist.add(predecessor);
+                }
+            }
+        }
+
+        return liveNodes;
+    }
+
+    private static boolean hasEffect(Node node) {
+        return node instanceof Block
+            || node instanceof Start
+            || node instanceof End
+            || node instanceof Jmp
+            || node instanceof Cond
+            || node instanceof Return
+            || node instanceof Store
+            || node instanceof Call;
+    }
+
+    /// Nodes that the graph refers to directly, e.g. the initial memory, must not be killed even if they are unused.
+    private static boolean isAnchored(Node node) {
+        return node instanceof NoMem
+            || node instanceof Bad
+            || node instanceof Unknown
+            || node instanceof Proj && node.getPred(0) instanceof Start;
+    }
+}
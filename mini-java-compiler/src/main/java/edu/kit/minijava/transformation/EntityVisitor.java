@@ -9,16 +9,20 @@ import firm.*;
 import java.util.*;
 
 public class EntityVisitor extends ASTVisitor<EntityContext> {
+    public EntityVisitor() {
+        super(false);
+    }
+
     private CompoundType globalType;
     private String currentClassName;
 
     private Map<String, Entity> runtimeEntities = new HashMap<>();
-    private HashMap<Declaration, Entity> entities = new HashMap<>();
+    private MemberEntities members;
+
+    /// The types of parameters and local variables.
     private HashMap<Declaration, Type> types = new HashMap<>();
 
-    private HashMap<Declaration, HashMap<Declaration, Integer>> method2VariableNums = new HashMap<>();
     private HashMap<Declaration, Integer> variableNums = new HashMap<>();
-    private HashMap<MethodDeclaration, Type[]> method2ParamTypes = new HashMap<>();
 
     private ClassDeclaration currentClassDeclaration;
 
@@ -26,22 +30,14 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
         return this.runtimeEntities;
     }
 
-    public HashMap<Declaration, Entity> getEntities() {
-        return this.entities;
+    public MemberEntities getMembers() {
+        return this.members;
     }
 
     public HashMap<Declaration, Type> getTypes() {
         return this.types;
     }
 
-    public HashMap<Declaration, HashMap<Declaration, Integer>> getMethod2VariableNums() {
-        return this.method2VariableNums;
-    }
-
-    public HashMap<MethodDeclaration, Type[]> getMethod2ParamTypes() {
-        return this.method2ParamTypes;
-    }
-
 
     public void startVisit(Program program) {
         String[] targetOptions = { "pic=1" };
@@ -50,6 +46,7 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
         Firm.init(null, targetOptions);
 
         this.globalType = firm.Program.getGlobalType();
+        this.members = new MemberEntities(program);
 
         // Create entities for the runtime library calls
         this.createRuntimeEntities();
@@ -134,7 +131,7 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
         StructType structType = new StructType(classDeclaration.getName());
         context.setClassType(structType);
 
-        this.types.put(classDeclaration, structType);
+        this.members.setClassType(classDeclaration, structType);
 
         this.currentClassName = classDeclaration.getName();
         this.currentClassDeclaration = classDeclaration;
@@ -159,12 +156,11 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
     @Override
     protected void visit(FieldDeclaration fieldDeclaration, EntityContext context) {
         fieldDeclaration.getType().accept(this, context);
-        this.types.put(fieldDeclaration, context.getType());
 
         // create entity for method
         String name = this.getUniqueMemberName(fieldDeclaration.getName());
         Entity fieldEntity = new Entity(context.getClassType(), name, context.getType());
-        this.entities.put(fieldDeclaration, fieldEntity);
+        this.members.setField(fieldDeclaration, fieldEntity, context.getType());
     }
 
     @Override
@@ -177,12 +173,11 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
         MethodType mainMethodType = new MethodType(parameterTypes, resultTypes);
 
         Entity mainMethodEntity = new Entity(this.globalType, "__minijava_main", mainMethodType);
-        this.entities.put(methodDeclaration, mainMethodEntity);
 
         methodDeclaration.getBody().accept(this, context);
 
 
-        this.method2VariableNums.put(methodDeclaration, this.variableNums);
+        this.members.setMethod(methodDeclaration, mainMethodEntity, this.variableNums);
     }
 
     @Override
@@ -213,13 +208,10 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
             resultType = new Type[] { context.getType() };
         }
 
-        this.method2ParamTypes.put(methodDeclaration, parameterTypes);
-
         // CREATE ENTITY FOR METHOD
         MethodType methodType = new MethodType(parameterTypes, resultType);
         Entity methodEntity = new Entity(this.globalType, this.getUniqueMemberName(methodDeclaration.getName()),
                         methodType);
-        this.entities.put(methodDeclaration, methodEntity);
 
         // COUNT LOCAL VARIABLES
         methodDeclaration.getParameters().forEach(p -> p.accept(this, methodContext));
@@ -227,7 +219,7 @@ public class EntityVisitor extends ASTVisitor<EntityContext> {
         methodDeclaration.getBody().accept(this, methodContext);
 
 
-        this.method2VariableNums.put(methodDeclaration, this.variableNums);
+        this.members.setMethod(methodDeclaration, methodEntity, parameterTypes, this.variableNums);
     }
 
     @Override
@@ -0,0 +1,188 @@
+package edu.kit.minijava.transformation;
+
+import firm.*;
+import firm.bindings.binding_irdom;
+import firm.bindings.binding_irnode;
+import firm.nodes.*;
+
+import java.util.*;
+
+/**
+ * Eliminates common subexpressions using global value numbering. Nodes are visited in topological order, so the
+ * predecessors of a node have already been replaced by their representatives when the node is visited. A node is then
+ * replaced by an earlier node with the same opcode, mode, attributes and predecessors if the block of the earlier node
+ * dominates its own.
+ *
+ * Only nodes without side effects are numbered, with the exception of loads. The last memory state before a load that
+ * is not the result of another load is part of its key, so two loads are only merged if no store or call can have
+ * happened between them.
+ */
+public class GlobalValueNumbering {
+    GlobalValueNumbering(Graph graph) {
+        NodeCollector collector = new NodeCollector();
+        graph.walkTopological(collector);
+
+        binding_irdom.compute_doms(graph.ptr);
+        BackEdges.enable(graph);
+
+        for (Node node : collector.getNodes()) {
+            Key key = makeKeyOrNull(node);
+
+            if (key == null) continue;
+
+            List<Node> candidates = this.nodesByKey.computeIfAbsent(key, k -> new ArrayList<>());
+            Node representative = null;
+
+            for (Node candidate : candidates) {
+                if (dominates(candidate.getBlock(), node.getBlock())) {
+                    representative = candidate;
+                    break;
+                }
+            }
+
+            if (representative != null) {
+                if (node instanceof Load) {
+                    bypassMemoryProjections(node);
+                }
+
+                Graph.exchange(node, representative);
+                this.hasModifiedGraph = true;
+            }
+            else {
+                candidates.add(node);
+            }
+        }
+
+        BackEdges.disable(graph);
+    }
+
+    private final Map<Key, List<Node>> nodesByKey = new HashMap<>();
+    private boolean hasModifiedGraph = false;
+
+    public boolean hasModifiedGraph() {
+        return this.hasModifiedGraph;
+    }
+
+    private static boolean dominates(Node block, Node other) {
+        return block.equals(other) || binding_irdom.block_dominates(block.ptr, other.ptr) != 0;
+    }
+
+    /// The memory state after a merged load is the one before it, not the one after its representative, which may lie
+    /// before other loads.
+    private static void bypassMemoryProjections(Node load) {
+        List<Node> memoryProjections = new ArrayList<>();
+
+        for (BackEdges.Edge edge : BackEdges.getOuts(load)) {
+            if (edge.node.getMode().equals(Mode.getM())) {
+                memoryProjections.add(edge.node);
+            }
+        }
+
+        for (Node projection : memoryProjections) {
+            Graph.exchange(projection, load.getPred(0));
+        }
+    }
+
+
+    // MARK: - Keys
+
+    /** Returns the key of the given node, or null if it must not be merged with other nodes. */
+    private static Key makeKeyOrNull(Node node) {
+        binding_irnode.ir_opcode opcode = node.getOpCode();
+
+        switch (opcode) {
+            case iro_Add:
+            case iro_Sub:
+            case iro_Mul:
+            case iro_Minus:
+            case iro_Not:
+            case iro_And:
+            case iro_Or:
+            case iro_Eor:
+            case iro_Shl:
+            case iro_Shr:
+            case iro_Shrs:
+            case iro_Conv:
+                return new Key(node, null);
+            case iro_Const:
+                return new Key(node, ((Const)node).getTarval());
+            case iro_Cmp:
+                return new Key(node, ((Cmp)node).getRelation());
+            case iro_Address:
+                return new Key(node, ((Address)node).getEntity());
+            case iro_Member:
+                return new Key(node, ((Member)node).getEntity());
+            case iro_Sel:
+                return new Key(node, ((Sel)node).getType());
+            case iro_Proj:
+                // Control flow projections are unique anyway, and merging them would modify the control flow graph.
+                if (node.getMode().equals(Mode.getX())) return null;
+
+                return new Key(node, ((Proj)node).getNum());
+            case iro_Load: {
+                Load load = (Load)node;
+
+                if (load.getVolatility() == binding_irnode.ir_volatility.volatility_is_volatile) return null;
+
+                Node[] predecessors = { skipLoads(load.getMem()), load.getPtr() };
+
+                return new Key(node, Arrays.asList(load.getLoadMode(), load.getType()), predecessors);
+            }
+            default:
+                return null;
+        }
+    }
+
+    /// Every load makes its memory projection the new memory state, so consecutive loads never see the same memory.
+    /// Loads do not modify memory though, so we key loads by the last memory state that is not the result of a load.
+    private static Node skipLoads(Node memory) {
+        Node state = memory;
+
+        while (state instanceof Proj && state.getPred(0) instanceof Load) {
+            state = state.getPred(0).getPred(0);
+        }
+
+        return state;
+    }
+
+    /// Identifies the value computed by a node. Nodes are compared by identity, so the predecessors must already have
+    /// been replaced by their representatives when the key is created.
+    private static final class Key {
+        Key(Node node, Object attribute) {
+            this(node, attribute, new Node[node.getPredCount()]);
+
+            for (int index = 0; index < this.predecessors.length; index += 1) {
+                this.predecessors[index] = node.getPred(index);
+            }
+        }
+
+        Key(Node node, Object attribute, Node[] predecessors) {
+            this.opcode = node.getOpCode();
+            this.mode = node.getMode();
+            this.attribute = attribute;
+            this.predecessors = predecessors;
+        }
+
+        private final binding_irnode.ir_opcode opcode;
+        private final Mode mode;
+        private final Object attribute;
+        private final Node[] predecessors;
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) return false;
+
+            Key other = (Key)object;
+
+            return this.opcode == other.opcode
+                && this.mode.equals(other.mode)
+                && Objects.equals(this.attribute, other.attribute)
+                && Arrays.equals(this.predecessors, other.predecessors);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.opcode, this.mode, this.attribute, Arrays.hashCode(this.predecessors));
+        }
+    }
+}
@@ -15,30 +15,27 @@ import firm.nodes.Block;
 
 public class GraphGenerator extends ASTVisitor<GraphContext> {
     private Map<String, Entity> runtimeEntities;
-    private HashMap<Declaration, Entity> entities;
+    private MemberEntities members;
     private HashMap<Declaration, Type> types;
 
-    private HashMap<Declaration, HashMap<Declaration, Integer>> method2VariableNums;
-    private HashMap<MethodDeclaration, Type[]> method2ParamTypes;
-    private HashMap<Declaration, Integer> variableNums;
+    private Map<Declaration, Integer> variableNums;
+    private Graph entryPointGraph;
 
     private boolean optimize;
     private boolean dumpIntermediates;
     private boolean beVerbose;
 
     public GraphGenerator(Map<String, Entity> runtimeEntities,
-                          HashMap<Declaration, Entity> entities,
+                          MemberEntities members,
                           HashMap<Declaration, Type> types,
-                          HashMap<Declaration, HashMap<Declaration, Integer>> method2VariableNums,
-                          HashMap<MethodDeclaration, Type[]> method2ParamTypes,
                           boolean optimize,
                           boolean dumpIntermediates,
                           boolean beVerbose) {
+        super(false);
+
         this.runtimeEntities = runtimeEntities;
-        this.entities = entities;
+        this.members = members;
         this.types = types;
-        this.method2VariableNums = method2VariableNums;
-        this.method2ParamTypes = method2ParamTypes;
 
         this.optimize = optimize;
         this.dumpIntermediates = dumpIntermediates;
@@ -46,12 +43,9 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
     }
 
     public GraphGenerator(Map<String, Entity> runtimeEntities,
-                          HashMap<Declaration, Entity> entities,
-                          HashMap<Declaration, Type> types,
-                          HashMap<Declaration, HashMap<Declaration, Integer>> method2VariableNums,
-                          HashMap<MethodDeclaration, Type[]> method2ParamTypes) {
-        this(runtimeEntities, entities, types, method2VariableNums, method2ParamTypes,
-            true, false, false);
+                          MemberEntities members,
+                          HashMap<Declaration, Type> types) {
+        this(runtimeEntities, members, types, true, false, false);
     }
 
     public Iterable<Graph> transform(Program program) {
@@ -89,11 +83,24 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
             }
         }
 
-        // Only execute the constant folder when optimizing the code
+        // Only execute the optimizations when optimizing the code
         if (this.optimize) {
             for (Graph g : firm.Program.getGraphs()) {
                 ConstantFolder folder = new ConstantFolder(g, this.beVerbose);
                 g.check();
+
+                GlobalValueNumbering numbering = new GlobalValueNumbering(g);
+                g.check();
+
+                DeadNodeEliminator eliminator = new DeadNodeEliminator(g);
+                g.check();
+            }
+
+            // Calls in dead code are gone now, so we do not generate code for methods that can no longer be called.
+            UnreachableMethodEliminator methodEliminator = new UnreachableMethodEliminator(this.entryPointGraph);
+
+            if (this.beVerbose) {
+                System.out.println("Removed " + methodEliminator.getNumberOfRemovedGraphs() + " unreachable methods");
             }
         }
 
@@ -133,11 +140,12 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
     @Override
     protected void visit(MainMethodDeclaration methodDeclaration, GraphContext context) {
 
-        this.variableNums = this.method2VariableNums.get(methodDeclaration);
+        this.variableNums = this.members.getVariableNums(methodDeclaration);
 
-        Entity mainMethodEntity = this.entities.get(methodDeclaration);
+        Entity mainMethodEntity = this.members.getMethodEntity(methodDeclaration);
 
         Graph graph = new Graph(mainMethodEntity, this.variableNums.size());
+        this.entryPointGraph = graph;
         Construction construction = new Construction(graph);
         GraphContext methodContext = new GraphContext(construction);
 
@@ -156,11 +164,11 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
 
     @Override
     protected void visit(MethodDeclaration methodDeclaration, GraphContext context) {
-        this.variableNums = this.method2VariableNums.get(methodDeclaration);
+        this.variableNums = this.members.getVariableNums(methodDeclaration);
 
-        Entity methodEntity = this.entities.get(methodDeclaration);
+        Entity methodEntity = this.members.getMethodEntity(methodDeclaration);
 
-        Type[] parameterTypes = this.method2ParamTypes.get(methodDeclaration);
+        Type[] parameterTypes = this.members.getParameterTypes(methodDeclaration);
         Graph graph = new Graph(methodEntity, this.variableNums.size() + parameterTypes.length);
 
         Construction construction = new Construction(graph);
@@ -618,7 +626,7 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
             in[i + 1] = context.getResult().convertToValue().getNode();
         }
 
-        Entity methodEntity = this.entities.get(expression.getMethodReference().getDeclaration());
+        Entity methodEntity = this.members.getMethodEntity(expression.getMethodReference().getDeclaration());
         Node callee = context.getConstruction().newAddress(methodEntity);
 
         Node mem = context.getConstruction().getCurrentMem();
@@ -640,7 +648,7 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
 
     @Override
     protected void visit(ExplicitFieldAccess expression, GraphContext context) {
-        Entity field = this.entities.get(expression.getFieldReference().getDeclaration());
+        Entity field = this.members.getFieldEntity(expression.getFieldReference().getDeclaration());
 
         // First, evaluate context and set result
         expression.getContext().accept(this, context);
@@ -648,7 +656,7 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
 
         Member member = (Member) context.getConstruction().newMember(contextValue, field);
 
-        Mode mode = this.types.get(expression.getFieldReference().getDeclaration()).getMode();
+        Mode mode = this.members.getFieldType(expression.getFieldReference().getDeclaration()).getMode();
 
         // All types without explicit modes associated with them are reference types
         if (mode == null) {
@@ -701,11 +709,12 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
             context.setResult(result);
         }
         else if (decl instanceof FieldDeclaration) {
-            Entity field = this.entities.get(decl);
+            FieldDeclaration fieldDeclaration = (FieldDeclaration)decl;
+            Entity field = this.members.getFieldEntity(fieldDeclaration);
             Node thisNode = context.getConstruction().getVariable(0, Mode.getP());
             Member member = (Member) context.getConstruction().newMember(thisNode, field);
 
-            Mode mode = Optional.ofNullable(this.types.get(decl).getMode()).orElse(Mode.getP());
+            Mode mode = Optional.ofNullable(this.members.getFieldType(fieldDeclaration).getMode()).orElse(Mode.getP());
 
             ExpressionResult.FieldLValue result = new ExpressionResult.FieldLValue(context.getConstruction(),
                             member, mode);
@@ -728,7 +737,7 @@ public class GraphGenerator extends ASTVisitor<GraphContext> {
         Construction construction = context.getConstruction();
 
         // Calculate size and alignment
-        int classSize = this.types.get(expression.getClassReference().getDeclaration()).getSize();
+        int classSize = this.members.getClassType(expression.getClassReference().getDeclaration()).getSize();
         Node size = construction.newConst(classSize, Mode.getIs());
 
         Node oneConst = construction.newConst(1, Mode.getIs());
@@ -0,0 +1,102 @@
+package edu.kit.minijava.transformation;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.ast.nodes.Program;
+import firm.*;
+
+import java.util.*;
+
+/**
+ * The Firm entities and types of the classes, fields and methods of a program. They are stored in arrays indexed by
+ * the slots that semantic analysis assigned to the declarations.
+ */
+public class MemberEntities {
+    public MemberEntities(Program program) {
+        int numberOfFields = 0;
+        int numberOfMethods = 0;
+
+        for (ClassDeclaration classDeclaration : program.getClassDeclarations()) {
+            numberOfFields += classDeclaration.getFieldDeclarations().size();
+            numberOfMethods += classDeclaration.getMethodDeclarations().size();
+            numberOfMethods += classDeclaration.getMainMethodDeclarations().size();
+        }
+
+        this.classTypes = new Type[program.getClassDeclarations().size()];
+        this.fieldEntities = new Entity[numberOfFields];
+        this.fieldTypes = new Type[numberOfFields];
+        this.methodEntities = new Entity[numberOfMethods];
+        this.methodParameterTypes = new Type[numberOfMethods][];
+        this.methodVariableNums = new ArrayList<>(Collections.nCopies(numberOfMethods, null));
+    }
+
+    private final Type[] classTypes;
+    private final Entity[] fieldEntities;
+    private final Type[] fieldTypes;
+    private final Entity[] methodEntities;
+    private final Type[][] methodParameterTypes;
+    private final List<Map<Declaration, Integer>> methodVariableNums;
+
+
+    // MARK: - Classes
+
+    public Type getClassType(ClassDeclaration declaration) {
+        return this.classTypes[declaration.getSlot()];
+    }
+
+    void setClassType(ClassDeclaration declaration, Type type) {
+        this.classTypes[declaration.getSlot()] = type;
+    }
+
+
+    // MARK: - Fields
+
+    public Entity getFieldEntity(FieldDeclaration declaration) {
+        return this.fieldEntities[declaration.getSlot()];
+    }
+
+    public Type getFieldType(FieldDeclaration declaration) {
+        return this.fieldTypes[declaration.getSlot()];
+    }
+
+    void setField(FieldDeclaration declaration, Entity entity, Type type) {
+        this.fieldEntities[declaration.getSlot()] = entity;
+        this.fieldTypes[declaration.getSlot()] = type;
+    }
+
+
+    // MARK: - Methods
+
+    public Entity getMethodEntity(MethodDeclaration declaration) {
+        return this.methodEntities[declaration.getSlot()];
+    }
+
+    public Entity getMethodEntity(MainMethodDeclaration declaration) {
+        return this.methodEntities[declaration.getSlot()];
+    }
+
+    /** The types of the parameters of the method, starting with the type of the implicit 'this' parameter. */
+    public Type[] getParameterTypes(MethodDeclaration declaration) {
+        return this.methodParameterTypes[declaration.getSlot()];
+    }
+
+    /** The numbers of the local variables and parameters of the method. */
+    public Map<Declaration, Integer> getVariableNums(MethodDeclaration declaration) {
+        return this.methodVariableNums.get(declaration.getSlot());
+    }
+
+    public Map<Declaration, Integer> getVariableNums(MainMethodDeclaration declaration) {
+        return this.methodVariableNums.get(declaration.getSlot());
+    }
+
+    void setMethod(MethodDeclaration declaration, Entity entity, Type[] parameterTypes,
+                   Map<Declaration, Integer> variableNums) {
+        this.methodEntities[declaration.getSlot()] = entity;
+        this.methodParameterTypes[declaration.getSlot()] = parameterTypes;
+        this.methodVariableNums.set(declaration.getSlot(), variableNums);
+    }
+
+    void setMethod(MainMethodDeclaration declaration, Entity entity, Map<Declaration, Integer> variableNums) {
+        this.methodEntities[declaration.getSlot()] = entity;
+        this.methodVariableNums.set(declaration.getSlot(), variableNums);
+    }
+}
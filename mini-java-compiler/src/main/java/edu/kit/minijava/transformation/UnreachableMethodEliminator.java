@@ -0,0 +1,71 @@
+package edu.kit.minijava.transformation;
+
+import firm.*;
+import firm.bindings.binding_irgraph;
+import firm.nodes.*;
+
+import java.util.*;
+
+/**
+ * Removes the graphs of all methods that cannot be called from the entry point. The call graph is built from the Call
+ * nodes of the reachable graphs, so calls that have been removed by earlier optimizations, e.g. in branches that are
+ * never taken, are not taken into account.
+ */
+public class UnreachableMethodEliminator {
+    UnreachableMethodEliminator(Graph entryPoint) {
+        Set<Graph> reachableGraphs = new HashSet<>();
+        Queue<Graph> worklist = new ArrayDeque<>();
+
+        reachableGraphs.add(entryPoint);
+        worklist.add(entryPoint);
+
+        while (!worklist.isEmpty()) {
+            for (Graph callee : getCallees(worklist.remove())) {
+                if (reachableGraphs.add(callee)) {
+                    worklist.add(callee);
+                }
+            }
+        }
+
+        // Collect the unreachable graphs first, freeing a graph removes it from the program.
+        List<Graph> unreachableGraphs = new ArrayList<>();
+
+        for (Graph graph : firm.Program.getGraphs()) {
+            if (!reachableGraphs.contains(graph)) {
+                unreachableGraphs.add(graph);
+            }
+        }
+
+        for (Graph graph : unreachableGraphs) {
+            binding_irgraph.free_ir_graph(graph.ptr);
+        }
+
+        this.numberOfRemovedGraphs = unreachableGraphs.size();
+    }
+
+    private final int numberOfRemovedGraphs;
+
+    public int getNumberOfRemovedGraphs() {
+        return this.numberOfRemovedGraphs;
+    }
+
+    private static List<Graph> getCallees(Graph graph) {
+        NodeCollector collector = new NodeCollector();
+        graph.walk(collector);
+
+        List<Graph> callees = new ArrayList<>();
+
+        for (Node node : collector.getNodes()) {
+            if (!(node instanceof Call)) continue;
+
+            Node callee = ((Call)node).getPtr();
+
+            // Runtime library functions have no graphs.
+            if (callee instanceof Address && ((Address)callee).getEntity().getGraph() != null) {
+                callees.add(((Address)callee).getEntity().getGraph());
+            }
+        }
+
+        return callees;
+    }
+}
@@ -0,0 +1,167 @@
+package edu.kit.minijava.ast.serialization;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.cli.*;
+import edu.kit.minijava.lexer.*;
+import edu.kit.minijava.parser.*;
+import edu.kit.minijava.semantic.*;
+
+import org.junit.*;
+import org.junit.rules.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+public class Tests {
+
+    private static final String PROGRAM = ""
+        + "class A {\n"
+        + "    public int x;\n"
+        + "    public A[][] next;\n"
+        + "    public int m(int y, boolean b) {\n"
+        + "        if (y > 0 && !b) { while ((y != 0)) { y = y - 1; } } else { return -this.x * 2; }\n"
+        + "        int[] z = new int[y + 1];\n"
+        + "        A a;\n"
+        + "        a = new A();\n"
+        + "        ;\n"
+        + "        return next[y][0].m(y, null == a) % z[2147483647];\n"
+        + "    }\n"
+        + "    public void n() { return; }\n"
+        + "}\n"
+        + "class B { public static void main(String[] args) { System.out.println(42); } }\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+
+    // MARK: - Serialization
+
+    @Test public void testRoundTripPreservesProgram() throws Exception {
+        Program program = this.parse(PROGRAM);
+        Program copy = new ProgramReader(new ProgramWriter().write(program)).readProgram();
+
+        Assert.assertEquals(new PrettyPrinter().format(program), new PrettyPrinter().format(copy));
+        Assert.assertEquals(this.dump(program), this.dump(copy));
+        Assert.assertEquals(program.getNameTable().size(), copy.getNameTable().size());
+
+        ClassDeclaration original = program.getClassDeclarations().get(0);
+        ClassDeclaration restored = copy.getClassDeclarations().get(0);
+
+        Assert.assertEquals(original.getNameID(), restored.getNameID());
+        Assert.assertEquals(original.getLocation().toString(), restored.getLocation().toString());
+        Assert.assertEquals(original.getMethodDeclarations().get(0).getBody().getStatements().get(4).getLocation()
+            .toString(), restored.getMethodDeclarations().get(0).getBody().getStatements().get(4).getLocation()
+            .toString());
+    }
+
+    @Test public void testRestoredProgramPassesSemanticAnalysis() throws Exception {
+        Program copy = new ProgramReader(new ProgramWriter().write(this.parse(PROGRAM))).readProgram();
+
+        new ReferenceAndExpressionTypeResolver(copy);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCheckedProgramCannotBeSerialized() throws Exception {
+        Program program = this.parse(PROGRAM);
+
+        new ReferenceAndExpressionTypeResolver(program);
+        new ProgramWriter().write(program);
+    }
+
+    @Test public void testCorruptDataIsRejected() throws Exception {
+        byte[] bytes = new ProgramWriter().write(this.parse(PROGRAM));
+
+        for (int length = 0; length < bytes.length; length++) {
+            try {
+                new ProgramReader(Arrays.copyOf(bytes, length)).readProgram();
+                Assert.fail();
+            }
+            catch (IOException exception) {
+                // expected
+            }
+        }
+    }
+
+
+    // MARK: - Cache
+
+    @Test public void testCacheIsKeyedBySource() throws Exception {
+        ASTCache cache = new ASTCache(new File(this.folder.getRoot(), "cache"));
+        byte[] source = PROGRAM.getBytes(StandardCharsets.US_ASCII);
+
+        Assert.assertFalse(cache.load(source).isPresent());
+
+        cache.store(source, this.parse(PROGRAM));
+
+        Assert.assertEquals(new PrettyPrinter().format(this.parse(PROGRAM)),
+            new PrettyPrinter().format(cache.load(source).get()));
+        Assert.assertFalse(cache.load((PROGRAM + " ").getBytes(StandardCharsets.US_ASCII)).isPresent());
+    }
+
+    @Test public void testCacheIgnoresUnreadableEntries() throws Exception {
+        File directory = this.folder.getRoot();
+        ASTCache cache = new ASTCache(directory);
+        byte[] source = PROGRAM.getBytes(StandardCharsets.US_ASCII);
+
+        cache.store(source, this.parse(PROGRAM));
+
+        for (File file : directory.listFiles()) {
+            Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+        }
+
+        Assert.assertFalse(cache.load(source).isPresent());
+    }
+
+    @Test public void testCacheIgnoresCorruptedEntries() throws Exception {
+        File directory = this.folder.getRoot();
+        ASTCache cache = new ASTCache(directory);
+        String template = "class A { public static void main(String[] a) { int x = %sy; } }";
+        byte[] source = String.format(template, "-").getBytes(StandardCharsets.US_ASCII);
+
+        // Nest the unary operation far more deeply than the reader's stack allows.
+        byte[] plain = new ProgramWriter().write(this.parse(String.format(template, "")));
+        byte[] negated = new ProgramWriter().write(this.parse(String.format(template, "-")));
+        int start = 0;
+
+        while (plain[start] == negated[start]) {
+            start++;
+        }
+
+        int length = negated.length - plain.length;
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(negated, 0, start);
+
+        for (int index = 0; index < 1_000_000; index++) {
+            stream.write(negated, start, length);
+        }
+
+        stream.write(negated, start, negated.length - start);
+        cache.store(source, this.parse(String.format(template, "-")));
+
+        for (File file : directory.listFiles()) {
+            Files.write(file.toPath(), stream.toByteArray());
+        }
+
+        Assert.assertFalse(cache.load(source).isPresent());
+    }
+
+
+    // MARK: - Helpers
+
+    private Program parse(String text) throws ParserException {
+        return new Parser(new Lexer(text.getBytes(StandardCharsets.US_ASCII))).parseProgram();
+    }
+
+    private List<String> dump(Program program) {
+        List<String> descriptions = new ArrayList<>();
+
+        for (Expression expression : new Collector(program).instancesOfClass(Expression.class)) {
+            descriptions.add(expression.getLocation() + " " + expression.getNumberOfExplicitParentheses() + " "
+                + expression.toStringForDumpingAST());
+        }
+
+        return descriptions;
+    }
+}
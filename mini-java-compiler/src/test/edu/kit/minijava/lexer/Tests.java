@@ -0,0 +1,331 @@
+package edu.kit.minijava.lexer;
+
+import org.junit.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class Tests {
+
+    private static final String PROGRAM = ""
+        + "/* header\r\n ** comment */\r\n"
+        + "class Main {\n"
+        + "    public static void main(String[] args) {\r"
+        + "        int x = 0 + 123 * (4 >>>= 5) / abc_12;\n"
+        + "        x = x != 3 && !y || z <= 2;\t\n"
+        + "    }\n"
+        + "}\n";
+
+
+    // MARK: - Byte Buffer Input
+
+    @Test public void testByteInputMatchesReaderInput() throws Exception {
+        List<String> expected = this.describe(this.lexerForReader(PROGRAM));
+        List<String> actual = this.describe(new Lexer(PROGRAM.getBytes(StandardCharsets.US_ASCII)));
+
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test public void testEmptyInput() throws Exception {
+        Assert.assertNull(new Lexer(new byte[0]).nextToken());
+    }
+
+    @Test public void testNonASCIIInputIsRejected() throws Exception {
+        byte[] input = { 'a', ' ', (byte)0xC3, (byte)0xA9 };
+        Lexer lexer = new Lexer(input);
+
+        Assert.assertEquals(TokenType.IDENTIFIER, lexer.nextToken().getType());
+
+        try {
+            lexer.nextToken();
+            Assert.fail();
+        }
+        catch (LexerException exception) {
+            Assert.assertEquals("Forbidden character 'REPLACEMENT CHARACTER' in input", exception.getMessage());
+        }
+    }
+
+    @Test(expected = LexerException.class)
+    public void testUnterminatedComment() throws Exception {
+        Lexer lexer = new Lexer("class /* never closed *".getBytes(StandardCharsets.US_ASCII));
+
+        while (lexer.nextToken() != null) {
+            continue;
+        }
+    }
+
+
+    @Test public void testCommentDelimiters() throws Exception {
+        String text = "a /*/ b */ c /**/ d /***/ e /* ** / * **/ f /*\r\n * x\r\n **/\t\r\ng";
+        Lexer lexer = new Lexer(text.getBytes(StandardCharsets.US_ASCII));
+        StringBuilder names = new StringBuilder();
+
+        for (Token token = lexer.nextToken(); token != null; token = lexer.nextToken()) {
+            names.append(token.getText());
+        }
+
+        Assert.assertEquals("acdefg", names.toString());
+    }
+
+    @Test(expected = LexerException.class)
+    public void testCommentIsNotClosedByItsOwnAsterisk() throws Exception {
+        Lexer lexer = new Lexer("/*/".getBytes(StandardCharsets.US_ASCII));
+
+        lexer.nextToken();
+    }
+
+
+    // MARK: - Name Table
+
+    @Test public void testIdentifiersShareNameIDs() throws Exception {
+        Lexer lexer = new Lexer("foo bar foo class".getBytes(StandardCharsets.US_ASCII));
+        Token first = lexer.nextToken();
+        Token second = lexer.nextToken();
+        Token third = lexer.nextToken();
+        Token keyword = lexer.nextToken();
+
+        Assert.assertEquals(first.getNameID(), third.getNameID());
+        Assert.assertNotEquals(first.getNameID(), second.getNameID());
+        Assert.assertSame(first.getText(), third.getText());
+        Assert.assertEquals(TokenType.CLASS, keyword.getType());
+        Assert.assertEquals(NameTable.NO_ID, keyword.getNameID());
+        Assert.assertEquals("foo", lexer.getNameTable().getName(first.getNameID()));
+    }
+
+    @Test public void testNameIDsAreDense() {
+        NameTable table = new NameTable();
+        byte[] source = "abcabc".getBytes(StandardCharsets.US_ASCII);
+
+        for (int index = 0; index < 1000; index += 1) {
+            Assert.assertEquals(index, table.getID("name" + index));
+        }
+
+        Assert.assertEquals(table.getID("abc"), table.getID(source, 3, 3));
+        Assert.assertEquals(1001, table.size());
+    }
+
+
+    // MARK: - Keywords
+
+    @Test public void testAllKeywordsAreRecognized() {
+        for (TokenType type : TokenType.values()) {
+            byte[] spelling = type.name().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.US_ASCII);
+            TokenType keyword = Lexer.keywordFromRange(spelling, 0, spelling.length);
+
+            Assert.assertEquals(type.ordinal() <= TokenType.WHILE.ordinal() ? type : null, keyword);
+        }
+    }
+
+    @Test public void testNearKeywordsAreIdentifiers() throws Exception {
+        String text = "classes whilst Class i in do_ dO privatE package_ synchronize";
+        Lexer lexer = new Lexer(text.getBytes(StandardCharsets.US_ASCII));
+
+        for (Token token = lexer.nextToken(); token != null; token = lexer.nextToken()) {
+            Assert.assertEquals(TokenType.IDENTIFIER, token.getType());
+        }
+    }
+
+
+    // MARK: - Locations
+
+    @Test public void testLocationsAcrossLineTerminators() throws Exception {
+        Lexer lexer = new Lexer("a\r\n\nb\r\rc\n\r  d".getBytes(StandardCharsets.US_ASCII));
+        List<String> locations = new ArrayList<>();
+
+        for (Token token = lexer.nextToken(); token != null; token = lexer.nextToken()) {
+            locations.add(token.getLocation().toString());
+        }
+
+        Assert.assertEquals(Arrays.asList("1:1", "3:1", "5:1", "7:3"), locations);
+    }
+
+    @Test public void testLineIndex() {
+        LineIndex lines = new LineIndex("ab\ncd\r\nef".getBytes(StandardCharsets.US_ASCII));
+
+        Assert.assertEquals(0, lines.getRow(0));
+        Assert.assertEquals(1, lines.getColumn(1));
+        Assert.assertEquals(0, lines.getRow(2));
+        Assert.assertEquals(1, lines.getRow(3));
+        Assert.assertEquals(2, lines.getColumn(5));
+        Assert.assertEquals(2, lines.getRow(7));
+        Assert.assertEquals(1, lines.getColumn(8));
+    }
+
+
+    // MARK: - Token Buffer
+
+    @Test public void testTokenBufferMatchesLexer() throws Exception {
+        List<String> expected = this.describe(new Lexer(PROGRAM.getBytes(StandardCharsets.US_ASCII)));
+        TokenBuffer buffer = new TokenBuffer(new Lexer(PROGRAM.getBytes(StandardCharsets.US_ASCII)));
+        List<String> actual = new ArrayList<>();
+
+        for (int index = 0; index < buffer.size(); index += 1) {
+            actual.add(buffer.getToken(index) + "@" + buffer.getLocation(index));
+        }
+
+        Assert.assertNull(buffer.getException());
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test public void testTokenBufferRecordsLexerException() {
+        TokenBuffer buffer = new TokenBuffer(new Lexer("int x = 1 # 2;".getBytes(StandardCharsets.US_ASCII)));
+
+        Assert.assertEquals(4, buffer.size());
+        Assert.assertEquals(TokenType.INTEGER_LITERAL, buffer.getType(3));
+        Assert.assertEquals("1", buffer.getText(3));
+        Assert.assertNotNull(buffer.getException());
+    }
+
+
+    // MARK: - Parallel Lexing
+
+    @Test public void testParallelLexingMatchesSequentialLexing() {
+        StringBuilder builder = new StringBuilder();
+
+        for (int index = 0; index < 200; index += 1) {
+            builder.append(PROGRAM).append("/* a b c ").append(index).append(" */ name").append(index % 7).append('\n');
+        }
+
+        byte[] input = builder.toString().getBytes(StandardCharsets.US_ASCII);
+        TokenBuffer expected = new TokenBuffer(new Lexer(input));
+
+        for (int numberOfChunks = 1; numberOfChunks <= 16; numberOfChunks += 1) {
+            TokenBuffer actual = new ParallelLexer(input).lex(ForkJoinPool.commonPool(), numberOfChunks);
+
+            this.assertEqualTokens(expected, actual);
+        }
+    }
+
+    @Test public void testParallelLexingStopsAtFirstError() {
+        String text = PROGRAM + "/* unterminated */ x # y " + PROGRAM + " $ " + PROGRAM;
+        byte[] input = text.getBytes(StandardCharsets.US_ASCII);
+        TokenBuffer expected = new TokenBuffer(new Lexer(input));
+
+        for (int numberOfChunks = 1; numberOfChunks <= 16; numberOfChunks += 1) {
+            TokenBuffer actual = new ParallelLexer(input).lex(ForkJoinPool.commonPool(), numberOfChunks);
+
+            this.assertEqualTokens(expected, actual);
+        }
+    }
+
+    @Test public void testChunkBuffersAreSizedToTheirRange() {
+        byte[] input = new byte[100_000];
+        Arrays.fill(input, (byte)' ');
+
+        LineIndex lines = new LineIndex(input);
+        TokenBuffer chunk = new TokenBuffer(new Lexer(input, 40_000, 50_000, new NameTable(), lines));
+
+        Assert.assertEquals(TokenBuffer.estimateCapacity(10_000), chunk.getCapacity());
+    }
+
+    @Test public void testChunksAreNotSplitInsideComments() {
+        byte[] input = "a /* b c d e f g h */ i".getBytes(StandardCharsets.US_ASCII);
+        int[] boundaries = new ParallelLexer(input).findChunkBoundaries(8);
+
+        Assert.assertArrayEquals(new int[] { 0, 21, input.length }, boundaries);
+    }
+
+
+    // MARK: - Incremental Lexing
+
+    @Test public void testIncrementalEditsMatchFullRelexing() {
+        String[][] edits = {
+            { "123", "456789" },
+            { "abc_12", "a" },
+            { "class Main", "class MainClass" },
+            { "0 + ", "0 /* + */ " },
+            { "/* header", "/* header */ int y; /*" },
+            { "}\n}", "}\n}\n/* open" },
+            { "x = x", "xx = x" },
+        };
+
+        for (String[] edit : edits) {
+            int offset = PROGRAM.indexOf(edit[0]);
+            String expected = PROGRAM.substring(0, offset) + edit[1] + PROGRAM.substring(offset + edit[0].length());
+
+            IncrementalLexer lexer = new IncrementalLexer(new TokenBuffer(new Lexer(this.bytes(PROGRAM))));
+            TokenBuffer actual = lexer.edit(offset, edit[0].length(), edit[1]);
+
+            this.assertEqualTokens(this.relex(expected, actual), actual);
+        }
+    }
+
+    @Test public void testIncrementalEditOnlyRelexesDamagedRegion() {
+        IncrementalLexer lexer = new IncrementalLexer(new TokenBuffer(new Lexer(this.bytes(PROGRAM))));
+        int offset = PROGRAM.indexOf("123");
+
+        lexer.edit(offset, 3, "4");
+
+        // The edited literal and the following asterisk, which lines up with the previous tokens.
+        Assert.assertEquals(2, lexer.getNumberOfRelexedTokens());
+        Assert.assertEquals("4", lexer.getTokens().getText(19));
+    }
+
+    @Test public void testIncrementalEditsOpeningAndClosingComments() {
+        String program = "int a; int b; int c;";
+        IncrementalLexer lexer = new IncrementalLexer(new TokenBuffer(new Lexer(this.bytes(program))));
+
+        lexer.edit(program.indexOf("int b"), 0, "/*");
+        this.assertEqualTokens(this.relex("int a; /*int b; int c;", lexer.getTokens()), lexer.getTokens());
+        Assert.assertNotNull(lexer.getTokens().getException());
+
+        lexer.edit(program.indexOf("int c") + 2, 0, "*/");
+        this.assertEqualTokens(this.relex("int a; /*int b; */int c;", lexer.getTokens()), lexer.getTokens());
+        Assert.assertNull(lexer.getTokens().getException());
+    }
+
+    @Test public void testIncrementalEditsShareNameTable() {
+        IncrementalLexer lexer = new IncrementalLexer(new TokenBuffer(new Lexer(this.bytes("a b a"))));
+        TokenBuffer tokens = lexer.edit(2, 1, "a");
+
+        Assert.assertEquals(tokens.getNameID(0), tokens.getNameID(1));
+        Assert.assertEquals(tokens.getNameID(0), tokens.getNameID(2));
+    }
+
+
+    // MARK: - Helpers
+
+    private void assertEqualTokens(TokenBuffer expected, TokenBuffer actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+
+        for (int index = 0; index < expected.size(); index += 1) {
+            Assert.assertEquals(expected.getType(index), actual.getType(index));
+            Assert.assertEquals(expected.getStart(index), actual.getStart(index));
+            Assert.assertEquals(expected.getLength(index), actual.getLength(index));
+            Assert.assertEquals(expected.getNameID(index), actual.getNameID(index));
+        }
+
+        Assert.assertEquals(expected.getException() == null, actual.getException() == null);
+
+        if (expected.getException() != null) {
+            Assert.assertEquals(expected.getException().getMessage(), actual.getException().getMessage());
+        }
+    }
+
+    /// Lexes the given text from scratch, sharing the name table of the given buffer so name IDs are comparable.
+    private TokenBuffer relex(String text, TokenBuffer tokens) {
+        return new TokenBuffer(new Lexer(this.bytes(text), tokens.getNameTable()));
+    }
+
+    private byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private Lexer lexerForReader(String text) throws IOException {
+        InputStream stream = new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII));
+
+        return new Lexer(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+    }
+
+    private List<String> describe(Lexer lexer) throws IOException, LexerException {
+        List<String> descriptions = new ArrayList<>();
+
+        for (Token token = lexer.nextToken(); token != null; token = lexer.nextToken()) {
+            descriptions.add(token + "@" + token.getLocation());
+        }
+
+        return descriptions;
+    }
+}
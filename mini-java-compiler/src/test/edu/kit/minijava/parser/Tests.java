@@ -0,0 +1,262 @@
+package edu.kit.minijava.parser;
+
+import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.cli.*;
+import edu.kit.minijava.lexer.*;
+
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+public class Tests {
+
+    private static final String PROGRAM = ""
+        + "class A {\n"
+        + "    public int x;\n"
+        + "    public A next;\n"
+        + "    public int m(int y, A[] as) {\n"
+        + "        if (y > 0) { while (!(y == 0)) { y = y - 1; } } else { return -this.x * 2; }\n"
+        + "        return as[y].next.m(y + 1, new A[2]) % 3;\n"
+        + "    }\n"
+        + "}\n"
+        + "class B { public static void main(String[] args) { { } } }\n"
+        + "class C { }\n";
+
+
+    // MARK: - Parallel Parsing
+
+    @Test public void testParallelParsingMatchesSequentialParsing() throws Exception {
+        String expected = this.format(new Parser(this.lex(PROGRAM)).parseProgram());
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        Assert.assertEquals(expected, this.format(new ParallelParser(this.lex(PROGRAM)).parseProgram()));
+        Assert.assertEquals(expected, this.format(new ParallelParser(this.lex(PROGRAM)).parseProgram(pool)));
+
+        pool.shutdown();
+    }
+
+    @Test public void testParallelParsingReportsSameErrors() {
+        String[] programs = {
+            "",
+            "#",
+            "class",
+            "class A { } }",
+            "{ class A { } }",
+            "class A { } class B { public int x }",
+            "class A { public void m() { class B { } } } class C { }",
+            "class A { public void m() { } class B { } } class C { }",
+            "class A { } class B { } class C { public int x; } 123",
+            "class A { } class B { } #",
+        };
+
+        for (String program : programs) {
+            String expected = this.parseForError(new Parser(this.lex(program)));
+            String actual;
+
+            try {
+                actual = this.format(new ParallelParser(this.lex(program)).parseProgram());
+            }
+            catch (ParserException exception) {
+                actual = exception.getMessage();
+            }
+
+            Assert.assertEquals(program, expected, actual);
+        }
+    }
+
+    @Test public void testClassBoundaries() {
+        int[] boundaries = new ParallelParser(this.lex("class A { { } } class B { } class")).findClassBoundaries();
+
+        Assert.assertArrayEquals(new int[] { 0, 6, 10, 11 }, boundaries);
+    }
+
+
+    // MARK: - Lazy Parsing
+
+    @Test public void testLazyParsingDefersMethodBodies() throws Exception {
+        Program program = new Parser(this.lex(PROGRAM), true).parseProgram();
+        MethodDeclaration method = program.getClassDeclarations().get(0).getMethodDeclarations().get(0);
+
+        Assert.assertFalse(method.isBodyParsed());
+        Assert.assertEquals(this.format(new Parser(this.lex(PROGRAM)).parseProgram()), this.format(program));
+        Assert.assertTrue(method.isBodyParsed());
+    }
+
+    @Test public void testLazyParsingReportsErrorsInBodiesOnAccess() throws Exception {
+        String program = "class A { public void m() { int x = ; } public int y; }";
+        String expected = this.parseForError(new Parser(this.lex(program)));
+        MethodDeclaration method = new Parser(this.lex(program), true).parseProgram().getClassDeclarations().get(0)
+            .getMethodDeclarations().get(0);
+
+        try {
+            method.getBody();
+            Assert.fail();
+        }
+        catch (WrappedParserException exception) {
+            Assert.assertEquals(expected, exception.getException().getMessage());
+        }
+    }
+
+    @Test public void testLazyParsingReportsUnbalancedBracesImmediately() {
+        String program = "class A { public void m() { { } }";
+
+        Assert.assertEquals(this.parseForError(new Parser(this.lex(program))),
+            this.parseForError(new Parser(this.lex(program), true)));
+    }
+
+
+    // MARK: - Error Recovery
+
+    @Test public void testRecoveryOnValidProgram() throws Exception {
+        Parser parser = new Parser(this.lex(PROGRAM));
+        Program program = parser.parseProgramRecoveringFromErrors();
+
+        Assert.assertTrue(parser.getErrors().isEmpty());
+        Assert.assertEquals(this.format(new Parser(this.lex(PROGRAM)).parseProgram()), this.format(program));
+    }
+
+    @Test public void testRecoveryCollectsAllErrors() {
+        String program = ""
+            + "class A {\n"
+            + "    public int x y;\n"
+            + "    public void m() {\n"
+            + "        int y = ;\n"
+            + "        while (y { y = y - 1; }\n"
+            + "        y = 1;\n"
+            + "        return y +;\n"
+            + "    }\n"
+            + "    public int n() { return 1; }\n"
+            + "}\n"
+            + "class { }\n"
+            + "class B { }\n";
+
+        Parser parser = new Parser(this.lex(program));
+        Program result = parser.parseProgramRecoveringFromErrors();
+        List<Integer> rows = new ArrayList<>();
+
+        for (ParserException error : parser.getErrors()) {
+            rows.add(((UnexpectedTokenException)error).getActualToken().getLocation().getRow() + 1);
+        }
+
+        Assert.assertEquals(Arrays.asList(2, 4, 5, 7, 11), rows);
+        Assert.assertEquals(this.parseForError(new Parser(this.lex(program))), parser.getErrors().get(0).getMessage());
+
+        Assert.assertEquals(2, result.getClassDeclarations().size());
+        Assert.assertEquals(2, result.getClassDeclarations().get(0).getMethodDeclarations().size());
+    }
+
+    @Test public void testRecoveryTerminates() {
+        String[] programs = { "}", "class A { public void m() { int x = 1", "} class A { } }", "class A { # }" };
+
+        for (String program : programs) {
+            Parser parser = new Parser(this.lex(program));
+            parser.parseProgramRecoveringFromErrors();
+
+            Assert.assertEquals(program, this.parseForError(new Parser(this.lex(program))),
+                parser.getErrors().get(0).getMessage());
+        }
+    }
+
+    @Test public void testRecoveryReportsLexerErrorOnce() {
+        Parser parser = new Parser(this.lex("class A { public void m() { x = ; } } class B { # }"));
+        parser.parseProgramRecoveringFromErrors();
+
+        Assert.assertEquals(2, parser.getErrors().size());
+        Assert.assertTrue(parser.getErrors().get(1) instanceof PropagatedException);
+    }
+
+
+    // MARK: - Expressions
+
+    /// Binary operators from lowest to highest precedence, with operators of equal precedence grouped together.
+    private static final String[][] BINARY_OPERATORS = {
+        { "=" }, { "||" }, { "&&" }, { "==", "!=" }, { "<", "<=", ">", ">=" }, { "+", "-" }, { "*", "/", "%" }
+    };
+
+    @Test public void testBinaryOperatorPrecedence() throws Exception {
+        for (int lower = 0; lower < BINARY_OPERATORS.length; lower += 1) {
+            for (int higher = lower + 1; higher < BINARY_OPERATORS.length; higher += 1) {
+                for (String low : BINARY_OPERATORS[lower]) {
+                    for (String high : BINARY_OPERATORS[higher]) {
+                        Assert.assertEquals("a " + low + " (b " + high + " c)",
+                            this.formatExpression("a " + low + " b " + high + " c"));
+                        Assert.assertEquals("(a " + high + " b) " + low + " c",
+                            this.formatExpression("a " + high + " b " + low + " c"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test public void testBinaryOperatorAssociativity() throws Exception {
+        Assert.assertEquals("a = (b = c)", this.formatExpression("a = b = c"));
+
+        // All other operators are left-associative, also when mixed with operators of the same precedence.
+        for (int level = 1; level < BINARY_OPERATORS.length; level += 1) {
+            for (String first : BINARY_OPERATORS[level]) {
+                for (String second : BINARY_OPERATORS[level]) {
+                    Assert.assertEquals("(a " + first + " b) " + second + " c",
+                        this.formatExpression("a " + first + " b " + second + " c"));
+                }
+            }
+        }
+    }
+
+    @Test public void testUnaryAndPostfixOperatorsBindTighterThanBinaryOperators() throws Exception {
+        Assert.assertEquals("(-a) * b", this.formatExpression("-a * b"));
+        Assert.assertEquals("(!a) && (!b)", this.formatExpression("!a && !b"));
+        Assert.assertEquals("(-(-((a.b(c))[d]))) + e", this.formatExpression("- -a.b(c)[d] + e"));
+        Assert.assertEquals("(a + b) * c", this.formatExpression("(a + b) * c"));
+    }
+
+
+    // MARK: - Name Table
+
+    @Test public void testParserDoesNotAddNamesToNameTable() throws Exception {
+        TokenBuffer tokens = this.lex("class A { public int m() { return 0; } }");
+        int numberOfNames = tokens.getNameTable().size();
+
+        new Parser(tokens).parseProgram();
+
+        Assert.assertEquals(numberOfNames, tokens.getNameTable().size());
+        Assert.assertEquals(NameTable.NO_ID, tokens.getNameTable().findID("String"));
+    }
+
+    @Test public void testMainMethodWithoutStringIsRejected() {
+        TokenBuffer tokens = this.lex("class A { public static void main(Strings[] a) { } }");
+        String message = this.parseForError(new Parser(tokens));
+
+        Assert.assertTrue(message, message.contains("MainMethod"));
+    }
+
+
+    // MARK: - Helpers
+
+    private TokenBuffer lex(String text) {
+        return new TokenBuffer(new Lexer(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private String format(Program program) {
+        return new PrettyPrinter().format(program);
+    }
+
+    /// Parses the given expression as a statement and returns it as formatted by the pretty printer, which wraps all
+    /// nested operations in parentheses.
+    private String formatExpression(String expression) throws ParserException {
+        String text = "class A { public static void main(String[] args) { " + expression + "; } }";
+        String[] lines = this.format(new Parser(this.lex(text)).parseProgram()).split("\n");
+
+        return lines[2].trim().replaceAll(";$", "");
+    }
+
+    private String parseForError(Parser parser) {
+        try {
+            return this.format(parser.parseProgram());
+        }
+        catch (ParserException exception) {
+            return exception.getMessage();
+        }
+    }
+}
@@ -3,10 +3,14 @@ package edu.kit.minijava.semantic;
 import edu.kit.minijava.lexer.*;
 import edu.kit.minijava.ast.references.*;
 import edu.kit.minijava.ast.nodes.*;
+import edu.kit.minijava.cli.*;
+import edu.kit.minijava.parser.*;
 
 import org.junit.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class Tests {
     public Tests() {
@@ -270,4 +274,175 @@ public class Tests {
         boolean actual = SemanticAnalysisVisitorBase.canCheckForEqualityWithTypesOfExpressions(left, right);
         Assert.assertEquals(message, expected, actual);
     }
+
+
+    // MARK: - Symbol Table
+
+    @Test public void testSymbolTableRestoresShadowedDeclarations() {
+        NameTable names = new NameTable();
+        int x = names.getID("x");
+        TokenLocation location = new TokenLocation(0, 0);
+
+        VariableDeclaration outer = new ParameterDeclaration(this.integerReference, "x", x, location);
+        VariableDeclaration inner = new ParameterDeclaration(this.booleanReference, "x", location);
+        VariableDeclaration other = new ParameterDeclaration(this.integerReference, "y", location);
+        SymbolTable table = new SymbolTable(names);
+
+        table.enterNewScope();
+        table.enterDeclaration(outer);
+        table.enterNewScope();
+        Assert.assertSame(outer, table.getVisibleDeclaration("x", NameTable.NO_ID));
+        Assert.assertFalse(table.isDeclaredInCurrentScope("x", x));
+
+        table.enterDeclaration(inner);
+        table.enterDeclaration(other);
+        Assert.assertSame(inner, table.getVisibleDeclaration("x", x));
+        Assert.assertSame(other, table.getVisibleDeclaration("y", NameTable.NO_ID));
+        Assert.assertTrue(table.isDeclaredInCurrentScope("x", x));
+
+        table.leaveCurrentScope();
+        Assert.assertSame(outer, table.getVisibleDeclaration("x", x));
+        Assert.assertNull(table.getVisibleDeclaration("y", NameTable.NO_ID));
+        Assert.assertTrue(table.isDeclaredInCurrentScope("x", NameTable.NO_ID));
+
+        table.leaveCurrentScope();
+        Assert.assertNull(table.getVisibleDeclaration("x", x));
+        Assert.assertEquals(1, names.size());
+    }
+
+
+    // MARK: - Member Index
+
+    @Test public void testMemberIndexAssignsSlotsAndFindsMembers() throws Exception {
+        Program program = this.parse(""
+            + "class A { public int x; public int y; public void x() { } public static void main(String[] a) { } }\n"
+            + "class B { public A x; public int z() { return 0; } }\n");
+        ClassDeclaration a = program.getClassDeclarations().get(0);
+        ClassDeclaration b = program.getClassDeclarations().get(1);
+        MemberIndex index = new MemberIndex(program);
+
+        Assert.assertEquals(1, b.getSlot());
+        Assert.assertEquals(2, b.getFieldDeclarations().get(0).getSlot());
+        Assert.assertEquals(1, a.getMainMethodDeclarations().get(0).getSlot());
+        Assert.assertEquals(2, b.getMethodDeclarations().get(0).getSlot());
+
+        Assert.assertSame(a.getFieldDeclarations().get(1), index.getFieldDeclarationOrNull(a, "y", NameTable.NO_ID));
+        Assert.assertSame(b.getFieldDeclarations().get(0), index.getFieldDeclarationOrNull(b, "x", NameTable.NO_ID));
+        Assert.assertSame(a.getMethodDeclarations().get(0), index.getMethodDeclarationOrNull(a, "x", NameTable.NO_ID));
+        Assert.assertNull(index.getFieldDeclarationOrNull(b, "y", NameTable.NO_ID));
+        Assert.assertNull(index.getMethodDeclarationOrNull(a, "main", NameTable.NO_ID));
+        Assert.assertNull(index.getMethodDeclarationOrNull(a, "w", NameTable.NO_ID));
+    }
+
+
+    // MARK: - Collector
+
+    @Test public void testCollectorPreservesTraversalOrder() throws Exception {
+        Program program = this.parse(PROGRAM);
+        Collector collector = new Collector(program);
+        List<Expression> streamed = new ArrayList<>();
+
+        Collector.forEachInstanceOfClass(program, Expression.class, streamed::add);
+
+        Assert.assertEquals(streamed, collector.instancesOfClass(Expression.class));
+        Assert.assertSame(collector.instancesOfClass(Expression.class), collector.instancesOfClass(Expression.class));
+        Assert.assertEquals(2, collector.instancesOfClass(MethodDeclaration.class).size());
+        Assert.assertEquals(3, collector.instancesOfClass(SubroutineDeclaration.class).size());
+        Assert.assertTrue(collector.instancesOfClass(Expression.SystemOutFlushExpression.class).isEmpty());
+    }
+
+
+    // MARK: - Parallel Checking
+
+    private static final String PROGRAM = ""
+        + "class A {\n"
+        + "    public int x;\n"
+        + "    public static void main(String[] args) { new A().m(-2147483648); System.out.println(-1); }\n"
+        + "    public int m(int y) { if (y > 0) return this.x + n(y); return -y; }\n"
+        + "    public int n(int z) { int[] a = new int[z]; a[0] = z; return a[0]; }\n"
+        + "}\n";
+
+    @Test public void testParallelCheckingMatchesSequentialChecking() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        Program sequential = this.parse(PROGRAM);
+        Program parallel = this.parse(PROGRAM);
+
+        new ReferenceAndExpressionTypeResolver(sequential);
+        new ReferenceAndExpressionTypeResolver(parallel, pool);
+
+        Assert.assertEquals(this.describeTypes(sequential), this.describeTypes(parallel));
+        Assert.assertEquals(new PrettyPrinter().format(sequential), new PrettyPrinter().format(parallel));
+
+        pool.shutdown();
+    }
+
+    @Test public void testParallelCheckingReportsEarliestError() throws Exception {
+        String program = ""
+            + "class A {\n"
+            + "    public static void main(String[] args) { }\n"
+            + "    public int m() { return true; }\n"
+            + "    public int n() { return x; }\n"
+            + "}\n"
+            + "class B { public void o() { this.p(); } }\n";
+        ForkJoinPool pool = new ForkJoinPool(3);
+
+        for (int iteration = 0; iteration < 10; iteration += 1) {
+            try {
+                new ReferenceAndExpressionTypeResolver(this.parse(program), pool);
+                Assert.fail();
+            }
+            catch (SemanticException exception) {
+                Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("at 3:"));
+            }
+        }
+
+        pool.shutdown();
+    }
+
+    @Test public void testParallelCheckingContinuesAfterErrorInSameRange() throws Exception {
+        // With a single thread, each visitor checks several methods of both classes in a row.
+        StringBuilder builder = new StringBuilder("class A {\n    public int x;\n");
+
+        for (int index = 0; index < 12; index += 1) {
+            if (index == 1) {
+                builder.append("    public void m1() { int y = 0; boolean z = y; }\n");
+            }
+            else {
+                builder.append("    public void m").append(index).append("() { int y = x; y = this.x + y; }\n");
+            }
+        }
+
+        builder.append("    public static void main(String[] args) { }\n}\n");
+        builder.append("class B {\n    public boolean x;\n    public void m() { boolean y = x; }\n}\n");
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+
+        try {
+            new ReferenceAndExpressionTypeResolver(this.parse(builder.toString()), pool);
+            Assert.fail();
+        }
+        catch (SemanticException exception) {
+            Assert.assertTrue(exception.getMessage(), exception.getMessage().contains("at 4:"));
+        }
+
+        Program valid = this.parse(builder.toString().replace("boolean z = y;", "int z = y;"));
+        new ReferenceAndExpressionTypeResolver(valid, pool);
+
+        pool.shutdown();
+    }
+
+    private Program parse(String text) throws ParserException {
+        return new Parser(new Lexer(text.getBytes(StandardCharsets.US_ASCII))).parseProgram();
+    }
+
+    private List<String> describeTypes(Program program) {
+        List<String> descriptions = new ArrayList<>();
+
+        for (Expression expression : new Collector(program).instancesOfClass(Expression.class)) {
+            descriptions.add(expression.getLocation() + " " + expression.toStringForDumpingAST() + ": "
+                + expression.getType());
+        }
+
+        return descriptions;
+    }
 }